@@ -0,0 +1,57 @@
+package org.rumbledb.api;
+
+import org.rumbledb.compiler.VisitorHelpers;
+import org.rumbledb.config.RumbleRuntimeConfiguration;
+import org.rumbledb.context.DynamicContext;
+import org.rumbledb.context.Name;
+import org.rumbledb.expressions.module.MainModule;
+import org.rumbledb.runtime.RuntimeIterator;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JSONiq query that was parsed and statically analyzed once, and that can be executed many times, with different
+ * values for its external variables.
+ *
+ * Prepared queries are obtained with {@link Rumble#prepareQuery(String)}.
+ */
+public class PreparedQuery {
+
+    private final MainModule mainModule;
+    private final RumbleRuntimeConfiguration configuration;
+
+    PreparedQuery(MainModule mainModule, RumbleRuntimeConfiguration configuration) {
+        this.mainModule = mainModule;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Executes the query with the external variable values currently set in the configuration.
+     *
+     * @return the resulting sequence of items.
+     */
+    public SequenceOfItems execute() {
+        return execute(Collections.emptyMap());
+    }
+
+    /**
+     * Executes the query, binding the given external variables first. Bindings stay in the configuration for later
+     * executions until they are bound again.
+     *
+     * @param externalVariableValues the values of external variables, by variable name.
+     * @return the resulting sequence of items.
+     */
+    public SequenceOfItems execute(Map<Name, List<Item>> externalVariableValues) {
+        for (Map.Entry<Name, List<Item>> entry : externalVariableValues.entrySet()) {
+            this.configuration.setExternalVariableValue(entry.getKey(), entry.getValue());
+        }
+        DynamicContext dynamicContext = VisitorHelpers.createDynamicContext(this.mainModule, this.configuration);
+        RuntimeIterator iterator = VisitorHelpers.generateRuntimeIterator(
+            this.mainModule,
+            this.configuration
+        );
+        return new SequenceOfItems(iterator, dynamicContext, this.configuration);
+    }
+}
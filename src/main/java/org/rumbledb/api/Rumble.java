@@ -1,5 +1,6 @@
 package org.rumbledb.api;
 
+import org.rumbledb.compiler.CompiledQueryCache;
 import org.rumbledb.compiler.VisitorHelpers;
 import org.rumbledb.config.RumbleRuntimeConfiguration;
 import org.rumbledb.context.DynamicContext;
@@ -41,17 +42,19 @@ public class Rumble {
      * @return the resulting sequence as an ItemIterator.
      */
     public SequenceOfItems runQuery(String query) {
-        MainModule mainModule = VisitorHelpers.parseMainModuleFromQuery(
-            query,
-            this.configuration
-        );
-        DynamicContext dynamicContext = VisitorHelpers.createDynamicContext(mainModule, this.configuration);
-        RuntimeIterator iterator = VisitorHelpers.generateRuntimeIterator(
-            mainModule,
-            this.configuration
-        );
+        return prepareQuery(query).execute();
+    }
 
-        return new SequenceOfItems(iterator, dynamicContext, this.configuration);
+    /**
+     * Compiles a query for repeated executions. Compiled queries are cached (see the query-cache-size option), so
+     * that preparing the same query again with the same configuration skips parsing and static analysis.
+     *
+     * @param query the content of the JSONiq main module.
+     * @return the prepared query.
+     */
+    public PreparedQuery prepareQuery(String query) {
+        MainModule mainModule = CompiledQueryCache.getMainModule(query, this.configuration);
+        return new PreparedQuery(mainModule, this.configuration);
     }
 
     /**
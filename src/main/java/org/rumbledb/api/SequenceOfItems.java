@@ -176,7 +176,7 @@ public class SequenceOfItems {
      */
     public void applyPUL() {
         PendingUpdateList pul = this.iterator.getPendingUpdateList(this.dynamicContext);
-        pul.applyUpdates(this.iterator.getMetadata());
+        pul.applyUpdates(this.dynamicContext.getRumbleRuntimeConfiguration(), this.iterator.getMetadata());
     }
 
     /*
@@ -32,6 +32,7 @@ import org.rumbledb.config.RumbleRuntimeConfiguration;
 import org.rumbledb.exceptions.CliException;
 import org.rumbledb.exceptions.ExceptionMetadata;
 import org.rumbledb.optimizations.Profiler;
+import org.rumbledb.runtime.functions.input.DeltaFileFunctionIterator;
 import org.rumbledb.runtime.functions.input.FileSystemUtil;
 
 import sparksoniq.spark.SparkSessionManager;
@@ -130,6 +131,10 @@ public class JsoniqQueryExecutor {
 
         if (sequence.availableAsDataFrame() && outputPath != null) {
             Dataset<Row> df = sequence.getAsDataFrame();
+            if (this.configuration.getOutputFormat().equals("delta")) {
+                // Row identities are assigned once at creation, so that delta-file() reads need no rewrite.
+                df = DeltaFileFunctionIterator.addRowIDColumn(df);
+            }
             if (this.configuration.getNumberOfOutputPartitions() > 0) {
                 df = df.repartition(this.configuration.getNumberOfOutputPartitions());
             }
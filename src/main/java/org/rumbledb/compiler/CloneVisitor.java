@@ -220,6 +220,7 @@ public class CloneVisitor extends AbstractNodeVisitor<Node> {
                 expression.getMetadata()
         );
         result.setActualType(expression.getActualType());
+        result.setBroadcast(expression.isBroadcast());
         result.setStaticContext(expression.getStaticContext());
         result.setStaticSequenceType(expression.getStaticSequenceType());
         return result;
@@ -0,0 +1,59 @@
+package org.rumbledb.compiler;
+
+import org.rumbledb.config.RumbleRuntimeConfiguration;
+import org.rumbledb.expressions.module.MainModule;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, least-recently-used cache of compiled main modules, keyed on the query text and on the settings it is
+ * compiled with (see {@link RumbleRuntimeConfiguration#getCompilationCacheKey()}).
+ *
+ * A cached module has been through parsing and all static analysis and optimization passes. Runtime iterators and
+ * dynamic contexts are still created for every execution, so that executions of the same query are independent and
+ * external variables can be bound anew each time. Library modules imported by a cached query are not read again.
+ */
+public class CompiledQueryCache {
+
+    private static final Map<String, MainModule> modules = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Returns the compiled main module of a query, parsing and analyzing it only if it is not cached yet.
+     *
+     * @param query the content of the main module.
+     * @param configuration the configuration.
+     * @return the compiled main module.
+     */
+    public static MainModule getMainModule(String query, RumbleRuntimeConfiguration configuration) {
+        int cacheSize = configuration.getQueryCacheSize();
+        if (cacheSize <= 0) {
+            return VisitorHelpers.parseMainModuleFromQuery(query, configuration);
+        }
+        String key = configuration.getCompilationCacheKey() + "\n" + query;
+        synchronized (modules) {
+            MainModule module = modules.get(key);
+            if (module != null) {
+                return module;
+            }
+        }
+        // Compiled outside of the lock, a concurrent miss on the same query compiles it too.
+        MainModule module = VisitorHelpers.parseMainModuleFromQuery(query, configuration);
+        synchronized (modules) {
+            modules.put(key, module);
+            Iterator<String> keys = modules.keySet().iterator();
+            while (modules.size() > cacheSize) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        return module;
+    }
+
+    public static void clear() {
+        synchronized (modules) {
+            modules.clear();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.rumbledb.compiler;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.rumbledb.context.Name;
+import org.rumbledb.expressions.AbstractNodeVisitor;
+import org.rumbledb.expressions.Expression;
+import org.rumbledb.expressions.Node;
+import org.rumbledb.expressions.flowr.Clause;
+import org.rumbledb.expressions.flowr.CountClause;
+import org.rumbledb.expressions.flowr.FlworExpression;
+import org.rumbledb.expressions.flowr.ForClause;
+import org.rumbledb.expressions.flowr.GroupByClause;
+import org.rumbledb.expressions.flowr.GroupByVariableDeclaration;
+import org.rumbledb.expressions.flowr.LetClause;
+import org.rumbledb.expressions.postfix.ObjectLookupExpression;
+import org.rumbledb.expressions.primary.StringLiteralExpression;
+import org.rumbledb.expressions.primary.VariableReferenceExpression;
+import org.rumbledb.expressions.update.DeleteExpression;
+import org.rumbledb.expressions.update.ReplaceExpression;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Computes which fields of the objects bound to a for variable are used by the clauses that follow it, so that
+ * DataFrame sources only need to provide these columns (and Spark can prune the others out of the scan).
+ *
+ * A field is used if it is looked up with a literal key, or if it is the literal locator of a replace or delete
+ * targeting the variable. Any other use of the variable requires the whole object.
+ */
+public class FieldProjectionVisitor extends AbstractNodeVisitor<Void> {
+
+    private final Name variableName;
+    private Set<String> fields;
+
+    private FieldProjectionVisitor(Name variableName) {
+        this.variableName = variableName;
+        this.fields = new HashSet<>();
+    }
+
+    /**
+     * @param forClause a for clause.
+     * @return the fields of the variable bound by the clause that are used later on, or null if all are needed.
+     */
+    public static Set<String> getProjectedFields(ForClause forClause) {
+        FieldProjectionVisitor visitor = new FieldProjectionVisitor(forClause.getVariableName());
+        Clause clause = forClause.getNextClause();
+        while (clause != null && visitor.fields != null) {
+            visitor.visit(clause, null);
+            if (visitor.rebindsVariable(clause)) {
+                break;
+            }
+            clause = clause.getNextClause();
+        }
+        return visitor.fields;
+    }
+
+    private boolean rebindsVariable(Clause clause) {
+        if (clause instanceof ForClause) {
+            return this.variableName.equals(((ForClause) clause).getVariableName())
+                || this.variableName.equals(((ForClause) clause).getPositionalVariableName());
+        }
+        if (clause instanceof LetClause) {
+            return this.variableName.equals(((LetClause) clause).getVariableName());
+        }
+        if (clause instanceof CountClause) {
+            return this.variableName.equals(((CountClause) clause).getCountVariableName());
+        }
+        if (clause instanceof GroupByClause) {
+            for (GroupByVariableDeclaration declaration : ((GroupByClause) clause).getGroupVariables()) {
+                if (this.variableName.equals(declaration.getVariableName()) && declaration.getExpression() != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected Void defaultAction(Node node, Void argument) {
+        // Clauses list their previous clause as a child, FLWOR expressions are walked forward instead.
+        for (Node child : node.getChildren()) {
+            if (node instanceof Clause && child == ((Clause) node).getPreviousClause()) {
+                continue;
+            }
+            visit(child, argument);
+        }
+        return argument;
+    }
+
+    @Override
+    public Void visitFlowrExpression(FlworExpression expression, Void argument) {
+        Clause clause = expression.getReturnClause().getFirstClause();
+        while (clause != null) {
+            visit(clause, argument);
+            clause = clause.getNextClause();
+        }
+        return argument;
+    }
+
+    @Override
+    public Void visitGroupByClause(GroupByClause clause, Void argument) {
+        for (GroupByVariableDeclaration declaration : clause.getGroupVariables()) {
+            if (this.variableName.equals(declaration.getVariableName()) && declaration.getExpression() == null) {
+                this.fields = null;
+            }
+        }
+        return defaultAction(clause, argument);
+    }
+
+    @Override
+    public Void visitVariableReference(VariableReferenceExpression expression, Void argument) {
+        if (this.variableName.equals(expression.getVariableName())) {
+            this.fields = null;
+        }
+        return argument;
+    }
+
+    @Override
+    public Void visitObjectLookupExpression(ObjectLookupExpression expression, Void argument) {
+        if (!addField(expression.getMainExpression(), expression.getLookupExpression())) {
+            visit(expression.getMainExpression(), argument);
+        }
+        visit(expression.getLookupExpression(), argument);
+        return argument;
+    }
+
+    @Override
+    public Void visitReplaceExpression(ReplaceExpression expression, Void argument) {
+        if (!addField(expression.getMainExpression(), expression.getLocatorExpression())) {
+            visit(expression.getMainExpression(), argument);
+        }
+        visit(expression.getLocatorExpression(), argument);
+        visit(expression.getReplacerExpression(), argument);
+        return argument;
+    }
+
+    @Override
+    public Void visitDeleteExpression(DeleteExpression expression, Void argument) {
+        if (!addField(expression.getMainExpression(), expression.getLocatorExpression())) {
+            visit(expression.getMainExpression(), argument);
+        }
+        visit(expression.getLocatorExpression(), argument);
+        return argument;
+    }
+
+    private boolean addField(Expression mainExpression, Expression keyExpression) {
+        if (
+            !(mainExpression instanceof VariableReferenceExpression)
+                || !this.variableName.equals(((VariableReferenceExpression) mainExpression).getVariableName())
+                || !(keyExpression instanceof StringLiteralExpression)
+        ) {
+            return false;
+        }
+        if (this.fields != null) {
+            this.fields.add(StringEscapeUtils.unescapeJson(((StringLiteralExpression) keyExpression).getValue()));
+        }
+        return true;
+    }
+}
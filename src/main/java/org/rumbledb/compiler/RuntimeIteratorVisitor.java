@@ -20,6 +20,7 @@
 
 package org.rumbledb.compiler;
 
+import org.rumbledb.api.Item;
 import org.rumbledb.config.RumbleRuntimeConfiguration;
 import org.rumbledb.context.BuiltinFunctionCatalogue;
 import org.rumbledb.context.FunctionIdentifier;
@@ -259,6 +260,7 @@ public class RuntimeIteratorVisitor extends AbstractNodeVisitor<RuntimeIterator>
     // region FLOWR
     @Override
     public RuntimeIterator visitFlowrExpression(FlworExpression expression, RuntimeIterator argument) {
+        limitOrderByClausesBeforeCountLimits(expression);
         RuntimeTupleIterator previous = this.visitFlowrClause(
             expression.getReturnClause().getPreviousClause(),
             argument
@@ -299,6 +301,7 @@ public class RuntimeIteratorVisitor extends AbstractNodeVisitor<RuntimeIterator>
                     forClause.getPositionalVariableName(),
                     forClause.isAllowEmpty(),
                     assignmentIterator,
+                    FieldProjectionVisitor.getProjectedFields(forClause),
                     forClause.getStaticContextForRuntime(this.config, this.visitorConfig)
             );
         } else if (clause instanceof LetClause) {
@@ -359,6 +362,7 @@ public class RuntimeIteratorVisitor extends AbstractNodeVisitor<RuntimeIterator>
                     previousIterator,
                     expressionsWithIterator,
                     ((OrderByClause) clause).isStable(),
+                    ((OrderByClause) clause).getLimit(),
                     clause.getStaticContextForRuntime(this.config, this.visitorConfig)
             );
         } else if (clause instanceof WhereClause) {
@@ -377,12 +381,124 @@ public class RuntimeIteratorVisitor extends AbstractNodeVisitor<RuntimeIterator>
         throw new OurBadException("Clause unrecognized.");
     }
 
+    /**
+     * Detects order by clauses followed by a count clause and a where clause of the form "where $c le n", so that
+     * they only keep their first n tuples.
+     *
+     * @param expression the FLWOR expression.
+     */
+    private static void limitOrderByClausesBeforeCountLimits(FlworExpression expression) {
+        for (Clause clause = expression.getReturnClause(); clause != null; clause = clause.getPreviousClause()) {
+            if (
+                !(clause instanceof WhereClause)
+                    || !(clause.getPreviousClause() instanceof CountClause)
+                    || !(clause.getPreviousClause().getPreviousClause() instanceof OrderByClause)
+            ) {
+                continue;
+            }
+            Expression condition = ((WhereClause) clause).getWhereExpression();
+            if (!(condition instanceof ComparisonExpression)) {
+                continue;
+            }
+            Node left = condition.getChildren().get(0);
+            Name countVariable = ((CountClause) clause.getPreviousClause()).getCountVariableName();
+            if (
+                left instanceof VariableReferenceExpression
+                    && ((VariableReferenceExpression) left).getVariableName().equals(countVariable)
+            ) {
+                limitOrderByClause(
+                    (OrderByClause) clause.getPreviousClause().getPreviousClause(),
+                    getPrefixLength((ComparisonExpression) condition)
+                );
+            }
+        }
+    }
+
+    /**
+     * Limits the order by clause directly preceding the return clause of a FLWOR expression of which only the first
+     * n items are consumed. This is only done if every tuple returns exactly one item.
+     *
+     * @param expression the expression of which only the first n items are consumed.
+     * @param n the number of items consumed, or -1 if unknown.
+     */
+    private static void limitFinalOrderByClause(Expression expression, int n) {
+        if (!(expression instanceof FlworExpression) || ((FlworExpression) expression).isUpdating()) {
+            return;
+        }
+        ReturnClause returnClause = ((FlworExpression) expression).getReturnClause();
+        if (!(returnClause.getPreviousClause() instanceof OrderByClause)) {
+            return;
+        }
+        SequenceType returnType = returnClause.getReturnExpr().getStaticSequenceType();
+        if (returnType == null || !returnType.getArity().equals(SequenceType.Arity.One)) {
+            return;
+        }
+        limitOrderByClause((OrderByClause) returnClause.getPreviousClause(), n);
+    }
+
+    private static void limitOrderByClause(OrderByClause clause, int n) {
+        if (n >= 1) {
+            clause.limitTo(n);
+        }
+    }
+
+    /**
+     * Returns how many of the positions 1, 2, 3... can satisfy a comparison of a position with an integer literal,
+     * such as "position() le 10" or "$c lt 10".
+     *
+     * @param comparison the comparison, with the position on the left-hand side.
+     * @return the number of leading positions that can satisfy it, or -1 if unknown.
+     */
+    private static int getPrefixLength(ComparisonExpression comparison) {
+        Integer n = getIntLiteralValue(comparison.getChildren().get(1));
+        if (n == null) {
+            return -1;
+        }
+        switch (comparison.getComparisonOperator()) {
+            case VC_EQ:
+            case GC_EQ:
+            case VC_LE:
+            case GC_LE:
+                return n;
+            case VC_LT:
+            case GC_LT:
+                return n - 1;
+            default:
+                return -1;
+        }
+    }
+
+    private static Integer getIntLiteralValue(Node node) {
+        if (!(node instanceof IntegerLiteralExpression)) {
+            return null;
+        }
+        Item value = ItemFactory.getInstance()
+            .createIntegerItem(((IntegerLiteralExpression) node).getLexicalValue());
+        if (!value.isInt()) {
+            return null;
+        }
+        return value.getIntValue();
+    }
+
+    private static boolean isBuiltinFunctionCall(Node node, String localName, int arity) {
+        if (!(node instanceof FunctionCallExpression)) {
+            return false;
+        }
+        FunctionCallExpression call = (FunctionCallExpression) node;
+        Name name = call.getFunctionName();
+        return name.getLocalName().equals(localName)
+            && (Name.FN_NS.equals(name.getNamespace()) || Name.JSONIQ_DEFAULT_FUNCTION_NS.equals(name.getNamespace()))
+            && call.getArguments().size() == arity
+            && BuiltinFunctionCatalogue.exists(new FunctionIdentifier(name, arity));
+    }
+
     @Override
     public RuntimeIterator visitVariableReference(VariableReferenceExpression expression, RuntimeIterator argument) {
-        RuntimeIterator runtimeIterator = new VariableReferenceIterator(
+        VariableReferenceIterator runtimeIterator = new VariableReferenceIterator(
                 expression.getVariableName(),
                 expression.getStaticContextForRuntime(this.config, this.visitorConfig)
         );
+        runtimeIterator.setBroadcast(expression.isBroadcast());
         runtimeIterator.setStaticContext(expression.getStaticContext());
         return runtimeIterator;
     }
@@ -507,6 +623,15 @@ public class RuntimeIteratorVisitor extends AbstractNodeVisitor<RuntimeIterator>
     // region primary
     @Override
     public RuntimeIterator visitFilterExpression(FilterExpression expression, RuntimeIterator argument) {
+        Expression predicate = expression.getPredicateExpression();
+        if (getIntLiteralValue(predicate) != null) {
+            limitFinalOrderByClause(expression.getMainExpression(), getIntLiteralValue(predicate));
+        } else if (
+            predicate instanceof ComparisonExpression
+                && isBuiltinFunctionCall(predicate.getChildren().get(0), "position", 0)
+        ) {
+            limitFinalOrderByClause(expression.getMainExpression(), getPrefixLength((ComparisonExpression) predicate));
+        }
         RuntimeIterator mainIterator = this.visit(expression.getMainExpression(), argument);
         if (expression.getPredicateExpression() instanceof IntegerLiteralExpression) {
             String lexicalValue = ((IntegerLiteralExpression) expression.getPredicateExpression()).getLexicalValue();
@@ -670,6 +795,15 @@ public class RuntimeIteratorVisitor extends AbstractNodeVisitor<RuntimeIterator>
 
     @Override
     public RuntimeIterator visitFunctionCall(FunctionCallExpression expression, RuntimeIterator argument) {
+        if (isBuiltinFunctionCall(expression, "head", 1)) {
+            limitFinalOrderByClause(expression.getArguments().get(0), 1);
+        } else if (isBuiltinFunctionCall(expression, "subsequence", 3)) {
+            Integer start = getIntLiteralValue(expression.getArguments().get(1));
+            Integer length = getIntLiteralValue(expression.getArguments().get(2));
+            if (start != null && length != null && (long) start + length - 1 <= Integer.MAX_VALUE) {
+                limitFinalOrderByClause(expression.getArguments().get(0), start + length - 1);
+            }
+        }
         List<RuntimeIterator> arguments = new ArrayList<>();
         ExceptionMetadata iteratorMetadata = expression.getMetadata();
         for (Expression arg : expression.getArguments()) {
@@ -152,6 +152,7 @@ public class StaticContextVisitor extends AbstractNodeVisitor<StaticContext> {
         } else {
             // note: sequence type can be null
             expression.setActualType(argument.getVariableSequenceType(variableName));
+            expression.setBroadcast(argument.isVariableBroadcast(variableName));
             return argument;
         }
     }
@@ -374,6 +375,7 @@ public class StaticContextVisitor extends AbstractNodeVisitor<StaticContext> {
             variableDeclaration.getMetadata(),
             variableDeclaration.isAssignable()
         );
+        argument.setVariableBroadcast(variableDeclaration.getVariableName(), variableDeclaration.isBroadcast());
         return argument;
     }
 
@@ -497,6 +499,7 @@ public class StaticContextVisitor extends AbstractNodeVisitor<StaticContext> {
             variableDeclStatement.getMetadata(),
             variableDeclStatement.isAssignable()
         );
+        result.setVariableBroadcast(variableDeclStatement.getVariableName(), variableDeclStatement.isBroadcast());
         variableDeclStatement.setStaticContext(result);
         return result;
     }
@@ -453,6 +453,9 @@ public class TranslationVisitor extends org.rumbledb.parser.JsoniqBaseVisitor<No
         } else {
             name = Name.createVariableResolvingPrefix(prefix, localName, this.moduleContext);
         }
+        if (name != null && !isFunction && !isType && !isAnnotation) {
+            return name.intern();
+        }
         if (name != null) {
             return name;
         }
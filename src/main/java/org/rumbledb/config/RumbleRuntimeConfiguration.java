@@ -20,6 +20,7 @@
 
 package org.rumbledb.config;
 
+import org.apache.spark.network.util.JavaUtils;
 import org.rumbledb.api.Item;
 import org.rumbledb.context.Name;
 import org.rumbledb.exceptions.CliException;
@@ -39,6 +40,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 public class RumbleRuntimeConfiguration implements Serializable, KryoSerializable {
 
@@ -74,6 +76,9 @@ public class RumbleRuntimeConfiguration implements Serializable, KryoSerializabl
     private boolean functionInlining;
     private boolean thirdFeature;
     private boolean applyUpdates;
+    private boolean batchDeltaUpdates;
+    private int queryCacheSize;
+    private long localMemoryBudget;
 
     private Map<String, String> shortcutMap;
     private Set<String> yesNoShortcuts;
@@ -429,6 +434,32 @@ public class RumbleRuntimeConfiguration implements Serializable, KryoSerializabl
             this.applyUpdates = false;
         }
 
+        if (this.arguments.containsKey("batch-delta-updates")) {
+            this.batchDeltaUpdates = this.arguments.get("batch-delta-updates").equals("yes");
+        } else {
+            this.batchDeltaUpdates = true;
+        }
+
+        if (this.arguments.containsKey("query-cache-size")) {
+            this.queryCacheSize = Integer.parseInt(this.arguments.get("query-cache-size"));
+        } else {
+            this.queryCacheSize = 100;
+        }
+
+        if (this.arguments.containsKey("local-memory-budget")) {
+            try {
+                this.localMemoryBudget = JavaUtils.byteStringAsBytes(this.arguments.get("local-memory-budget"));
+            } catch (NumberFormatException e) {
+                throw new CliException(
+                        "Invalid value for --local-memory-budget: "
+                            + this.arguments.get("local-memory-budget")
+                            + ". Expected a size such as 512m or 2g."
+                );
+            }
+        } else {
+            this.localMemoryBudget = 0;
+        }
+
         if (this.arguments.containsKey("optimize-general-comparison-to-value-comparison")) {
             this.optimizeGeneralComparisonToValueComparison = this.arguments.get(
                 "optimize-general-comparison-to-value-comparison"
@@ -659,6 +690,95 @@ public class RumbleRuntimeConfiguration implements Serializable, KryoSerializabl
         this.applyUpdates = b;
     }
 
+    public boolean batchDeltaUpdates() {
+        return this.batchDeltaUpdates;
+    }
+
+    public void setBatchDeltaUpdates(boolean b) {
+        this.batchDeltaUpdates = b;
+    }
+
+    public int getQueryCacheSize() {
+        return this.queryCacheSize;
+    }
+
+    public void setQueryCacheSize(int i) {
+        this.queryCacheSize = i;
+    }
+
+    /**
+     * Returns the number of bytes that a locally executed group by or order by clause may buffer before it spills
+     * tuples to disk, or 0 if it never spills.
+     *
+     * @return the budget in bytes.
+     */
+    public long getLocalMemoryBudget() {
+        return this.localMemoryBudget;
+    }
+
+    public void setLocalMemoryBudget(long bytes) {
+        this.localMemoryBudget = bytes;
+    }
+
+    /**
+     * Returns a key that identifies the settings a query is compiled with. Two configurations with the same key
+     * compile a query to the same module. The values of external variables are bound when the query is executed, so
+     * only the fact that they are set is part of the key.
+     *
+     * @return the key.
+     */
+    public String getCompilationCacheKey() {
+        Map<String, String> arguments = new TreeMap<>(this.arguments);
+        for (Map.Entry<String, String> entry : arguments.entrySet()) {
+            if (entry.getKey().startsWith("variable:") || entry.getKey().equals("context-item")) {
+                entry.setValue("");
+            }
+        }
+        return arguments
+            + "|"
+            + this.allowedPrefixes
+            + "|"
+            + this.inputFormat
+            + "|"
+            + this.outputFormat
+            + "|"
+            + new TreeMap<>(this.outputFormatOptions)
+            + "|"
+            + this.numberOfOutputPartitions
+            + "|"
+            + this.checkReturnTypeOfBuiltinFunctions
+            + "|"
+            + this.queryPath
+            + "|"
+            + this.outputPath
+            + "|"
+            + this.logPath
+            + "|"
+            + this.shell
+            + "|"
+            + this.nativeSQLPredicates
+            + "|"
+            + this.dataFrameExecutionModeDetection
+            + "|"
+            + this.datesWithTimeZone
+            + "|"
+            + this.optimizeGeneralComparisonToValueComparison
+            + "|"
+            + this.parallelExecution
+            + "|"
+            + this.dataFrameExecution
+            + "|"
+            + this.nativeExecution
+            + "|"
+            + this.functionInlining
+            + "|"
+            + this.thirdFeature
+            + "|"
+            + this.applyUpdates
+            + "|"
+            + this.batchDeltaUpdates;
+    }
+
     public boolean optimizeGeneralComparisonToValueComparison() {
         return this.optimizeGeneralComparisonToValueComparison;
     }
@@ -18,6 +18,7 @@ public class InScopeVariable implements Serializable, KryoSerializable {
     private ExceptionMetadata metadata;
     private ExecutionMode storageMode;
     private final boolean isAssignable;
+    private boolean isBroadcast;
 
     public InScopeVariable(
             Name name,
@@ -85,4 +86,12 @@ public class InScopeVariable implements Serializable, KryoSerializable {
     public boolean isAssignable() {
         return isAssignable;
     }
+
+    public boolean isBroadcast() {
+        return this.isBroadcast;
+    }
+
+    public void setBroadcast(boolean isBroadcast) {
+        this.isBroadcast = isBroadcast;
+    }
 }
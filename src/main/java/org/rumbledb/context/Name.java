@@ -24,6 +24,9 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.rumbledb.exceptions.OurBadException;
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.KryoSerializable;
@@ -62,6 +65,9 @@ public class Name implements Comparable<Name>, Serializable, KryoSerializable {
     public static final String AN_NS = "http://www.w3.org/2012/xquery";
     public static final String DEFAULT_COLLATION_NS = "http://www.w3.org/2005/xpath-functions/collation/codepoint";
 
+    // Canonical instances of the variable names of compiled queries, see intern().
+    private static final ConcurrentMap<Name, Name> internedNames = new ConcurrentHashMap<>();
+
     public static final Name CONTEXT_ITEM = createVariableInNoNamespace("$");
     public static final Name CONTEXT_POSITION = createVariableInNoNamespace("$position");
     public static final Name CONTEXT_COUNT = createVariableInNoNamespace("$count");
@@ -248,6 +254,9 @@ public class Name implements Comparable<Name>, Serializable, KryoSerializable {
 
     @Override
     public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
         if (!(o instanceof Name)) {
             return false;
         }
@@ -287,6 +296,22 @@ public class Name implements Comparable<Name>, Serializable, KryoSerializable {
         precomputeHashCode();
     }
 
+    /**
+     * Returns the canonical instance of this name. The compiler interns variable names, so that all declarations and
+     * references of a variable share one instance, and the hash lookups in the dynamic context match by identity
+     * without comparing namespaces and local names.
+     *
+     * @return the canonical instance.
+     */
+    public Name intern() {
+        Name interned = internedNames.putIfAbsent(this, this);
+        if (interned == null) {
+            return this;
+        }
+        // Equal names may be written with different prefixes, which error messages should keep.
+        return Objects.equals(interned.prefix, this.prefix) ? interned : this;
+    }
+
     public void precomputeHashCode() {
         if (this.localName == null) {
             this.hashCode = 0;
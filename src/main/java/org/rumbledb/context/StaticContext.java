@@ -187,16 +187,15 @@ public class StaticContext implements Serializable, KryoSerializable {
     // replace the sequence type of an existing InScopeVariable, throws an error if the variable does not exists
     public void replaceVariableSequenceType(Name varName, SequenceType newSequenceType) {
         InScopeVariable variable = getInScopeVariable(varName);
-        this.inScopeVariables.replace(
-            varName,
-            new InScopeVariable(
-                    varName,
-                    newSequenceType,
-                    variable.getMetadata(),
-                    variable.getStorageMode(),
-                    variable.isAssignable()
-            )
+        InScopeVariable newVariable = new InScopeVariable(
+                varName,
+                newSequenceType,
+                variable.getMetadata(),
+                variable.getStorageMode(),
+                variable.isAssignable()
         );
+        newVariable.setBroadcast(variable.isBroadcast());
+        this.inScopeVariables.replace(varName, newVariable);
     }
 
     public SequenceType getVariableSequenceType(Name varName) {
@@ -215,6 +214,14 @@ public class StaticContext implements Serializable, KryoSerializable {
         getInScopeVariable(varName).setStorageMode(mode);
     }
 
+    public boolean isVariableBroadcast(Name varName) {
+        return getInScopeVariable(varName).isBroadcast();
+    }
+
+    public void setVariableBroadcast(Name varName, boolean isBroadcast) {
+        getInScopeVariable(varName).setBroadcast(isBroadcast);
+    }
+
     public void addVariable(
             Name varName,
             SequenceType type,
@@ -41,6 +41,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +52,7 @@ public class VariableValues implements Serializable, KryoSerializable {
     private static final long serialVersionUID = 1L;
     private Map<Name, List<Item>> localVariableValues;
     private Map<Name, Item> localVariableCounts;
+    private Map<Name, Map<DynamicContext.VariableDependency, List<Item>>> localVariableAggregates;
     private Map<Name, JavaRDD<Item>> rddVariableValues;
     private Map<Name, JSoundDataFrame> dataFrameVariableValues;
     private boolean nestedQuery;
@@ -59,6 +61,7 @@ public class VariableValues implements Serializable, KryoSerializable {
     public VariableValues() {
         this.parent = null;
         this.localVariableCounts = new HashMap<>();
+        this.localVariableAggregates = new HashMap<>();
         this.localVariableValues = new HashMap<>();
         this.rddVariableValues = new HashMap<>();
         this.dataFrameVariableValues = new HashMap<>();
@@ -71,6 +74,7 @@ public class VariableValues implements Serializable, KryoSerializable {
         }
         this.parent = parent;
         this.localVariableCounts = new HashMap<>();
+        this.localVariableAggregates = new HashMap<>();
         this.localVariableValues = new HashMap<>();
         this.rddVariableValues = new HashMap<>();
         this.dataFrameVariableValues = new HashMap<>();
@@ -89,6 +93,7 @@ public class VariableValues implements Serializable, KryoSerializable {
         }
         this.parent = parent;
         this.localVariableCounts = new HashMap<>();
+        this.localVariableAggregates = new HashMap<>();
         this.localVariableValues = localVariableValues;
         this.rddVariableValues = rddVariableValues;
         this.dataFrameVariableValues = dataFrameVariableValues;
@@ -137,14 +142,10 @@ public class VariableValues implements Serializable, KryoSerializable {
     }
 
     public boolean contains(Name varName) {
-        boolean localContains = this.localVariableValues.containsKey(varName)
-            || this.rddVariableValues.containsKey(varName)
-            || this.dataFrameVariableValues.containsKey(varName);
-        if (localContains) {
-            return true;
-        }
-        if (this.parent != null) {
-            return this.parent.contains(varName);
+        for (VariableValues values = this; values != null; values = values.parent) {
+            if (containsLocally(values, varName)) {
+                return true;
+            }
         }
         return false;
     }
@@ -186,19 +187,38 @@ public class VariableValues implements Serializable, KryoSerializable {
         this.localVariableCounts.put(varName, count);
     }
 
+    /**
+     * Binds a variable to an aggregate of its values (e.g., its sum) that was computed ahead of time, for example
+     * natively by Spark when grouping tuples.
+     *
+     * @param varName the name of the variable.
+     * @param aggregate the kind of aggregate.
+     * @param value the aggregate, empty if the variable is bound to the empty sequence. For averages, the sum and
+     *        the count of the values.
+     */
+    public void addVariableAggregate(Name varName, DynamicContext.VariableDependency aggregate, List<Item> value) {
+        this.localVariableAggregates.computeIfAbsent(
+            varName,
+            k -> new EnumMap<>(DynamicContext.VariableDependency.class)
+        )
+            .put(aggregate, value);
+    }
+
     public List<Item> getLocalVariableValue(Name varName, ExceptionMetadata metadata) {
-        if (this.localVariableValues.containsKey(varName) && this.localVariableValues.get(varName) == null) {
+        // A single lookup in the common case, uninitialized variables are stored as null values.
+        List<Item> value = this.localVariableValues.get(varName);
+        if (value != null) {
+            return value;
+        }
+        if (this.localVariableValues.containsKey(varName)) {
             // Referencing an uninitialized local variable is illegal
             throw new RumbleException(
                     "Runtime error retrieving variable " + varName + " value",
                     metadata
             );
         }
-        if (this.localVariableValues.containsKey(varName)) {
-            return this.localVariableValues.get(varName);
-        }
 
-        if (this.rddVariableValues.containsKey(varName)) {
+        if (!this.rddVariableValues.isEmpty() && this.rddVariableValues.containsKey(varName)) {
             if (this.nestedQuery) {
                 throw new JobWithinAJobException(metadata);
             }
@@ -294,9 +314,39 @@ public class VariableValues implements Serializable, KryoSerializable {
         throw new OurBadException("Runtime error retrieving variable " + varName + " value");
     }
 
+    /**
+     * Returns an aggregate of the values of a variable, if it was computed ahead of time.
+     *
+     * @param varName the name of the variable.
+     * @param aggregate the kind of aggregate.
+     * @return the aggregate as passed to addVariableAggregate, or null if the values of the variable must be
+     *         aggregated by the caller.
+     */
+    public List<Item> getVariableAggregate(Name varName, DynamicContext.VariableDependency aggregate) {
+        if (!this.localVariableAggregates.isEmpty()) {
+            Map<DynamicContext.VariableDependency, List<Item>> aggregates = this.localVariableAggregates.get(varName);
+            if (aggregates != null) {
+                return aggregates.get(aggregate);
+            }
+        }
+        if (
+            this.localVariableValues.containsKey(varName)
+                || this.localVariableCounts.containsKey(varName)
+                || this.rddVariableValues.containsKey(varName)
+                || this.dataFrameVariableValues.containsKey(varName)
+        ) {
+            return null;
+        }
+        if (this.parent != null) {
+            return this.parent.getVariableAggregate(varName, aggregate);
+        }
+        return null;
+    }
+
     public void removeVariable(Name varName) {
         this.localVariableValues.remove(varName);
         this.localVariableCounts.remove(varName);
+        this.localVariableAggregates.remove(varName);
         this.rddVariableValues.remove(varName);
         this.dataFrameVariableValues.remove(varName);
 
@@ -305,6 +355,7 @@ public class VariableValues implements Serializable, KryoSerializable {
     public void removeAllVariables() {
         this.localVariableValues.clear();
         this.localVariableCounts.clear();
+        this.localVariableAggregates.clear();
         this.rddVariableValues.clear();
         this.dataFrameVariableValues.clear();
     }
@@ -329,8 +380,9 @@ public class VariableValues implements Serializable, KryoSerializable {
     }
 
     public Item getPosition() {
-        if (this.localVariableValues.containsKey(Name.CONTEXT_POSITION)) {
-            return this.localVariableValues.get(Name.CONTEXT_POSITION).get(0);
+        List<Item> position = this.localVariableValues.get(Name.CONTEXT_POSITION);
+        if (position != null) {
+            return position.get(0);
         }
         if (this.parent != null) {
             return this.parent.getPosition();
@@ -344,8 +396,9 @@ public class VariableValues implements Serializable, KryoSerializable {
     }
 
     public Item getLast() {
-        if (this.localVariableValues.containsKey(Name.CONTEXT_COUNT)) {
-            return this.localVariableValues.get(Name.CONTEXT_COUNT).get(0);
+        List<Item> last = this.localVariableValues.get(Name.CONTEXT_COUNT);
+        if (last != null) {
+            return last.get(0);
         }
         if (this.parent != null) {
             return this.parent.getLast();
@@ -423,8 +476,9 @@ public class VariableValues implements Serializable, KryoSerializable {
 
     public boolean containsLocally(VariableValues variableValues, Name varName) {
         return variableValues.localVariableValues.containsKey(varName)
-            || variableValues.rddVariableValues.containsKey(varName)
-            || variableValues.dataFrameVariableValues.containsKey(varName);
+            || (!variableValues.rddVariableValues.isEmpty() && variableValues.rddVariableValues.containsKey(varName))
+            || (!variableValues.dataFrameVariableValues.isEmpty()
+                && variableValues.dataFrameVariableValues.containsKey(varName));
     }
 
     public void changeVariableValue(Name varName, List<Item> value) {
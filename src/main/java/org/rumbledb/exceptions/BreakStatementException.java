@@ -1,5 +1,16 @@
 package org.rumbledb.exceptions;
 
+/**
+ * Unwinds the body of the innermost loop when a break statement is executed. It is a control-flow signal rather than
+ * an error, so a single instance without a stack trace is thrown every time.
+ */
 public class BreakStatementException extends RuntimeException {
 
+    private static final long serialVersionUID = 1L;
+
+    public static final BreakStatementException INSTANCE = new BreakStatementException();
+
+    private BreakStatementException() {
+        super(null, null, false, false);
+    }
 }
@@ -1,4 +1,16 @@
 package org.rumbledb.exceptions;
 
+/**
+ * Unwinds the current iteration of the innermost loop when a continue statement is executed. It is a control-flow
+ * signal rather than an error, so a single instance without a stack trace is thrown every time.
+ */
 public class ContinueStatementException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final ContinueStatementException INSTANCE = new ContinueStatementException();
+
+    private ContinueStatementException() {
+        super(null, null, false, false);
+    }
 }
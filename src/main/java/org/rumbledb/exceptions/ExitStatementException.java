@@ -23,6 +23,8 @@ public class ExitStatementException extends RuntimeException {
             JSoundDataFrame dataFrameResult,
             ExceptionMetadata exceptionMetadata
     ) {
+        // Exiting is control flow, not an error: skip the cost of capturing a stack trace.
+        super(null, null, false, false);
         this.pendingUpdateList = pendingUpdateList;
         this.localResult = localResult;
         this.rddResult = rddResult;
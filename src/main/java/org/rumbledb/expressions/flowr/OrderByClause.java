@@ -34,6 +34,8 @@ public class OrderByClause extends Clause {
 
     private final List<OrderByClauseSortingKey> sortingKeys;
     private final boolean isStable;
+    // the number of leading tuples that are actually consumed downstream, -1 if unknown.
+    private int limit = -1;
 
     public OrderByClause(List<OrderByClauseSortingKey> exprs, boolean stable, ExceptionMetadata metadata) {
         super(FLWOR_CLAUSES.ORDER_BY, metadata);
@@ -100,4 +102,20 @@ public class OrderByClause extends Clause {
         return this.sortingKeys;
     }
 
+    public int getLimit() {
+        return this.limit;
+    }
+
+    /**
+     * Records that only the first n tuples output by this clause are needed, so that it can keep the top n tuples
+     * instead of sorting its entire input.
+     *
+     * @param n the number of leading tuples needed.
+     */
+    public void limitTo(int n) {
+        if (this.limit == -1 || n < this.limit) {
+            this.limit = n;
+        }
+    }
+
 }
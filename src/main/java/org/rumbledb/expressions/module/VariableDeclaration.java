@@ -37,6 +37,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.rumbledb.expressions.scripting.annotations.Annotation.checkAssignable;
+import static org.rumbledb.expressions.scripting.annotations.Annotation.checkBroadcast;
 
 public class VariableDeclaration extends Node {
     // Default is false for variable declaration.
@@ -47,6 +48,7 @@ public class VariableDeclaration extends Node {
     protected Expression expression;
     private final List<Annotation> annotations;
     private final boolean isAssignable;
+    private final boolean isBroadcast;
 
     protected ExecutionMode variableHighestStorageMode = ExecutionMode.UNSET;
 
@@ -72,6 +74,7 @@ public class VariableDeclaration extends Node {
         } else {
             this.isAssignable = this.DEFAULT_ASSIGNABLE;
         }
+        this.isBroadcast = checkBroadcast(this.annotations);
     }
 
     public Name getVariableName() {
@@ -173,5 +176,9 @@ public class VariableDeclaration extends Node {
     public boolean isAssignable() {
         return isAssignable;
     }
+
+    public boolean isBroadcast() {
+        return this.isBroadcast;
+    }
 }
 
@@ -37,6 +37,7 @@ public class VariableReferenceExpression extends Expression implements Serializa
     private static final long serialVersionUID = 1L;
     private Name name;
     private SequenceType type;
+    private boolean isBroadcast;
 
 
     public VariableReferenceExpression(Name name, ExceptionMetadata metadata) {
@@ -61,6 +62,20 @@ public class VariableReferenceExpression extends Expression implements Serializa
         this.type = type;
     }
 
+    /**
+     * Says whether the referenced variable was declared with %an:broadcast, so that its value is broadcast when it is
+     * joined with a DataFrame.
+     *
+     * @return true if the variable is to be broadcast.
+     */
+    public boolean isBroadcast() {
+        return this.isBroadcast;
+    }
+
+    public void setBroadcast(boolean isBroadcast) {
+        this.isBroadcast = isBroadcast;
+    }
+
     @Override
     public <T> T accept(AbstractNodeVisitor<T> visitor, T argument) {
         return visitor.visitVariableReference(this, argument);
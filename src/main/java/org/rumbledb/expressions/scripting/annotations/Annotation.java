@@ -8,6 +8,7 @@ import org.rumbledb.expressions.Expression;
 import java.util.List;
 
 import static org.rumbledb.expressions.scripting.annotations.AnnotationConstants.ASSIGNABLE;
+import static org.rumbledb.expressions.scripting.annotations.AnnotationConstants.BROADCAST;
 import static org.rumbledb.expressions.scripting.annotations.AnnotationConstants.NON_ASSIGNABLE;
 
 public class Annotation {
@@ -52,4 +53,23 @@ public class Annotation {
         }
         return isAssignable;
     }
+
+    /**
+     * Checks whether a variable declaration asks, with %an:broadcast, for its value to be broadcast to all executors
+     * when it is joined with a DataFrame, whatever its size.
+     *
+     * @param annotations the annotations of the declaration, or null if there are none.
+     * @return true if the %an:broadcast annotation is present.
+     */
+    public static boolean checkBroadcast(List<Annotation> annotations) {
+        if (annotations == null) {
+            return false;
+        }
+        for (Annotation annotation : annotations) {
+            if (annotation.getAnnotationName().equals(BROADCAST)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -11,4 +11,6 @@ public class AnnotationConstants {
     public static final Name ASSIGNABLE = new Name(Name.AN_NS, "an", "assignable");
 
     public static final Name NON_ASSIGNABLE = new Name(Name.AN_NS, "an", "nonassignable");
+
+    public static final Name BROADCAST = new Name(Name.AN_NS, "an", "broadcast");
 }
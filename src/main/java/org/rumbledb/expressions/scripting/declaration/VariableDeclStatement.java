@@ -14,6 +14,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.rumbledb.expressions.scripting.annotations.Annotation.checkAssignable;
+import static org.rumbledb.expressions.scripting.annotations.Annotation.checkBroadcast;
 
 // TODO: Update specification document to reflect this definition:
 // A variable decl statement will be visible to subsequent comma declarations.
@@ -25,6 +26,7 @@ public class VariableDeclStatement extends Statement {
     private final SequenceType variableSequenceType;
     private final Expression variableExpression;
     private final boolean isAssignable;
+    private final boolean isBroadcast;
 
     public VariableDeclStatement(
             List<Annotation> annotations,
@@ -45,6 +47,7 @@ public class VariableDeclStatement extends Statement {
         } else {
             this.isAssignable = this.DEFAULT_ASSIGNABLE;
         }
+        this.isBroadcast = checkBroadcast(this.annotations);
         if (!this.isAssignable && this.variableExpression == null) {
             throw new InvalidVariableDeclarationException(
                     "Variable declaration is redundant: marked as '%an:unassignable' without initializing expression! This makes the variable unusable as it cannot be changed by Assign statements!",
@@ -109,4 +112,8 @@ public class VariableDeclStatement extends Statement {
     public boolean isAssignable() {
         return isAssignable;
     }
+
+    public boolean isBroadcast() {
+        return this.isBroadcast;
+    }
 }
@@ -37,7 +37,7 @@ public class ObjectItem implements Item {
 
     private static final long serialVersionUID = 1L;
     private List<Item> values;
-    private List<String> keys;
+    private ObjectShape shape;
     private int mutabilityLevel;
     private long topLevelID;
     private String pathIn;
@@ -45,7 +45,7 @@ public class ObjectItem implements Item {
 
     public ObjectItem() {
         super();
-        this.keys = new ArrayList<>();
+        this.shape = ObjectShape.EMPTY;
         this.values = new ArrayList<>();
         this.mutabilityLevel = -1;
         this.topLevelID = -1;
@@ -55,8 +55,7 @@ public class ObjectItem implements Item {
 
     public ObjectItem(List<String> keys, List<Item> values, ExceptionMetadata itemMetadata) {
         super();
-        checkForDuplicateKeys(keys, itemMetadata);
-        this.keys = keys;
+        this.shape = ObjectShape.of(keys, itemMetadata);
         this.values = values;
         this.mutabilityLevel = -1;
         this.topLevelID = -1;
@@ -122,7 +121,7 @@ public class ObjectItem implements Item {
             }
         }
 
-        this.keys = keyList;
+        this.shape = ObjectShape.of(keyList, ExceptionMetadata.EMPTY_METADATA);
         this.values = valueList;
         this.mutabilityLevel = -1;
         this.topLevelID = -1;
@@ -132,7 +131,7 @@ public class ObjectItem implements Item {
 
     @Override
     public List<String> getKeys() {
-        return this.keys;
+        return this.shape.getKeys();
     }
 
     @Override
@@ -140,39 +139,30 @@ public class ObjectItem implements Item {
         return this.values;
     }
 
-    private void checkForDuplicateKeys(List<String> keys, ExceptionMetadata metadata) {
-        HashMap<String, Integer> frequencies = new HashMap<>();
-        for (String key : keys) {
-            if (frequencies.containsKey(key)) {
-                throw new DuplicateObjectKeyException(key, metadata);
-            } else {
-                frequencies.put(key, 1);
-            }
-        }
-    }
-
     @Override
     public Item getItemByKey(String s) {
-        if (this.keys.contains(s)) {
-            return this.values.get(this.keys.indexOf(s));
-        } else {
+        int index = this.shape.indexOf(s);
+        if (index == -1) {
             return null;
         }
+        return this.values.get(index);
     }
 
     @Override
     public void putItemByKey(String s, Item value) {
-        this.keys.add(s);
+        if (this.shape.indexOf(s) != -1) {
+            throw new DuplicateObjectKeyException(s, ExceptionMetadata.EMPTY_METADATA);
+        }
+        this.shape = this.shape.withKey(s);
         this.values.add(value);
-        checkForDuplicateKeys(this.keys, ExceptionMetadata.EMPTY_METADATA);
     }
 
     @Override
     public void removeItemByKey(String s) {
-        if (this.keys.contains(s)) {
-            int index = this.keys.indexOf(s);
+        int index = this.shape.indexOf(s);
+        if (index != -1) {
             this.values.remove(index);
-            this.keys.remove(index);
+            this.shape = this.shape.withoutKey(index);
         }
     }
 
@@ -183,7 +173,7 @@ public class ObjectItem implements Item {
 
     @Override
     public void write(Kryo kryo, Output output) {
-        kryo.writeObject(output, this.keys);
+        this.shape.write(kryo, output);
         kryo.writeObject(output, this.values);
         output.writeInt(this.mutabilityLevel);
         output.writeLong(this.topLevelID);
@@ -194,7 +184,7 @@ public class ObjectItem implements Item {
     @SuppressWarnings("unchecked")
     @Override
     public void read(Kryo kryo, Input input) {
-        this.keys = kryo.readObject(input, ArrayList.class);
+        this.shape = ObjectShape.read(kryo, input);
         this.values = kryo.readObject(input, ArrayList.class);
         this.mutabilityLevel = input.readInt();
         this.topLevelID = input.readLong();
@@ -255,8 +245,8 @@ public class ObjectItem implements Item {
     @Override
     public void setPathIn(String pathIn) {
         this.pathIn = pathIn;
-        for (int i = 0; i < this.keys.size(); i++) {
-            String key = this.keys.get(i);
+        for (int i = 0; i < this.shape.size(); i++) {
+            String key = this.shape.getKeys().get(i);
             Item item = this.values.get(i);
             item.setPathIn(pathIn + "." + key);
         }
@@ -279,13 +269,13 @@ public class ObjectItem implements Item {
     public String getSparkSQLValue() {
         StringBuilder sb = new StringBuilder();
         sb.append("named_struct(");
-        for (int i = 0; i < this.keys.size(); i++) {
+        for (int i = 0; i < this.shape.size(); i++) {
             sb.append("\"");
-            sb.append(this.keys.get(i));
+            sb.append(this.shape.getKeys().get(i));
             sb.append("\"");
             sb.append(", ");
             sb.append(this.values.get(i).getSparkSQLValue());
-            if (i + 1 < this.keys.size()) {
+            if (i + 1 < this.shape.size()) {
                 sb.append(", ");
             }
         }
@@ -305,7 +295,7 @@ public class ObjectItem implements Item {
         for (int i = 0; i < keys.length; i++) {
             String key = keys[i];
             FieldDescriptor field = content.get(key);
-            int keyIndex = this.keys.indexOf(key);
+            int keyIndex = this.shape.indexOf(key);
 
             sb.append("\"");
             sb.append(key);
@@ -333,11 +323,11 @@ public class ObjectItem implements Item {
     public String getSparkSQLType() {
         StringBuilder sb = new StringBuilder();
         sb.append("STRUCT<");
-        for (int i = 0; i < this.keys.size(); i++) {
-            sb.append(this.keys.get(i));
+        for (int i = 0; i < this.shape.size(); i++) {
+            sb.append(this.shape.getKeys().get(i));
             sb.append(": ");
             sb.append(this.values.get(i).getSparkSQLType());
-            if (i + 1 < this.keys.size()) {
+            if (i + 1 < this.shape.size()) {
                 sb.append(", ");
             }
         }
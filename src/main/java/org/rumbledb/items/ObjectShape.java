@@ -0,0 +1,209 @@
+package org.rumbledb.items;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.rumbledb.exceptions.DuplicateObjectKeyException;
+import org.rumbledb.exceptions.ExceptionMetadata;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The ordered keys of an object, shared by all objects that have the same keys in the same order. Objects only keep
+ * their values and a reference to their shape, which is immutable: adding or removing a key moves the object to
+ * another shape.
+ *
+ * Shapes are interned, so that the objects read from a data set with a handful of distinct layouts all point to a
+ * handful of key lists, and the key transitions made by updates are cached.
+ */
+final class ObjectShape implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    // Beyond this number of shapes (e.g., keys that are themselves data), new shapes are no longer interned.
+    private static final int maximumInternedShapes = 100000;
+    private static final int maximumTransitions = 64;
+    // Below this number of keys, a linear scan is faster than hashing the looked up key.
+    private static final int minimumIndexedKeys = 8;
+    private static final ConcurrentMap<List<String>, ObjectShape> internedShapes = new ConcurrentHashMap<>();
+
+    static final ObjectShape EMPTY = of(Collections.emptyList(), ExceptionMetadata.EMPTY_METADATA);
+
+    private final List<String> keys;
+    // Open-addressing hash table of key positions plus one (0 marks a free slot), null for small shapes.
+    private transient int[] keyIndex;
+    private transient ConcurrentMap<String, ObjectShape> transitions;
+
+    private ObjectShape(List<String> keys, ExceptionMetadata metadata) {
+        this.keys = Collections.unmodifiableList(keys);
+        buildKeyIndex(metadata);
+        this.transitions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the shape with the given keys.
+     *
+     * @param keys the keys, in order. The list is copied.
+     * @param metadata the metadata of the object, used if the keys contain duplicates.
+     * @return the shape.
+     */
+    static ObjectShape of(List<String> keys, ExceptionMetadata metadata) {
+        ObjectShape shape = internedShapes.get(keys);
+        if (shape != null) {
+            return shape;
+        }
+        shape = new ObjectShape(new ArrayList<>(keys), metadata);
+        if (internedShapes.size() >= maximumInternedShapes) {
+            return shape;
+        }
+        ObjectShape interned = internedShapes.putIfAbsent(shape.keys, shape);
+        return interned == null ? shape : interned;
+    }
+
+    List<String> getKeys() {
+        return this.keys;
+    }
+
+    int size() {
+        return this.keys.size();
+    }
+
+    /**
+     * @param key a key.
+     * @return its position, or -1 if the shape does not have it.
+     */
+    int indexOf(String key) {
+        if (this.keyIndex == null) {
+            return this.keys.indexOf(key);
+        }
+        int mask = this.keyIndex.length - 1;
+        for (int slot = getSlot(key, mask);; slot = (slot + 1) & mask) {
+            int position = this.keyIndex[slot];
+            if (position == 0) {
+                return -1;
+            }
+            if (this.keys.get(position - 1).equals(key)) {
+                return position - 1;
+            }
+        }
+    }
+
+    /**
+     * @param key a key that this shape does not have.
+     * @return the shape with the key appended.
+     */
+    ObjectShape withKey(String key) {
+        ObjectShape shape = this.transitions.get(key);
+        if (shape != null) {
+            return shape;
+        }
+        List<String> keys = new ArrayList<>(this.keys.size() + 1);
+        keys.addAll(this.keys);
+        keys.add(key);
+        shape = of(keys, ExceptionMetadata.EMPTY_METADATA);
+        if (this.transitions.size() < maximumTransitions) {
+            this.transitions.putIfAbsent(key, shape);
+        }
+        return shape;
+    }
+
+    /**
+     * @param position the position of a key.
+     * @return the shape without this key.
+     */
+    ObjectShape withoutKey(int position) {
+        List<String> keys = new ArrayList<>(this.keys);
+        keys.remove(position);
+        return of(keys, ExceptionMetadata.EMPTY_METADATA);
+    }
+
+    private void buildKeyIndex(ExceptionMetadata metadata) {
+        if (this.keys.size() < minimumIndexedKeys) {
+            for (int position = 1; position < this.keys.size(); position++) {
+                if (this.keys.subList(0, position).contains(this.keys.get(position))) {
+                    throw new DuplicateObjectKeyException(this.keys.get(position), metadata);
+                }
+            }
+            return;
+        }
+        // A power of two at least twice the number of keys, which keeps probe sequences short.
+        this.keyIndex = new int[Integer.highestOneBit(this.keys.size() * 4 - 1)];
+        int mask = this.keyIndex.length - 1;
+        for (int position = 0; position < this.keys.size(); position++) {
+            String key = this.keys.get(position);
+            int slot = getSlot(key, mask);
+            while (this.keyIndex[slot] != 0) {
+                if (this.keys.get(this.keyIndex[slot] - 1).equals(key)) {
+                    throw new DuplicateObjectKeyException(key, metadata);
+                }
+                slot = (slot + 1) & mask;
+            }
+            this.keyIndex[slot] = position + 1;
+        }
+    }
+
+    private static int getSlot(String key, int mask) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Writes the shape, or only its number if it was already written as part of the same object graph (e.g., the
+     * other members of an array or of a pending update list). Shape numbers are not global, as every JVM interns its
+     * own shapes.
+     *
+     * @param kryo the Kryo instance.
+     * @param output the output.
+     */
+    @SuppressWarnings("unchecked")
+    void write(Kryo kryo, Output output) {
+        Map<ObjectShape, Integer> writtenShapes = (Map<ObjectShape, Integer>) kryo.getGraphContext()
+            .get(ObjectShape.class);
+        if (writtenShapes == null) {
+            writtenShapes = new IdentityHashMap<>();
+            kryo.getGraphContext().put(ObjectShape.class, writtenShapes);
+        }
+        Integer number = writtenShapes.get(this);
+        if (number != null) {
+            output.writeInt(number + 1, true);
+            return;
+        }
+        writtenShapes.put(this, writtenShapes.size());
+        output.writeInt(0, true);
+        output.writeInt(this.keys.size(), true);
+        for (String key : this.keys) {
+            output.writeString(key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static ObjectShape read(Kryo kryo, Input input) {
+        List<ObjectShape> readShapes = (List<ObjectShape>) kryo.getGraphContext().get(ObjectShape.class);
+        if (readShapes == null) {
+            readShapes = new ArrayList<>();
+            kryo.getGraphContext().put(ObjectShape.class, readShapes);
+        }
+        int number = input.readInt(true);
+        if (number != 0) {
+            return readShapes.get(number - 1);
+        }
+        int size = input.readInt(true);
+        List<String> keys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add(input.readString());
+        }
+        ObjectShape shape = of(keys, ExceptionMetadata.EMPTY_METADATA);
+        readShapes.add(shape);
+        return shape;
+    }
+
+    private Object readResolve() {
+        return of(this.keys, ExceptionMetadata.EMPTY_METADATA);
+    }
+}
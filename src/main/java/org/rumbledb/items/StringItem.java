@@ -147,7 +147,9 @@ public class StringItem implements Item {
 
     @Override
     public NativeClauseContext generateNativeQuery(NativeClauseContext context) {
-        return new NativeClauseContext(context, '"' + this.value + '"', SequenceType.STRING);
+        // Spark SQL processes backslash escapes in string literals, which also matters for regular expressions.
+        String literal = this.value.replace("\\", "\\\\").replace("\"", "\\\"");
+        return new NativeClauseContext(context, '"' + literal + '"', SequenceType.STRING);
     }
 
     @Override
@@ -0,0 +1,483 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.rumbledb.items.parsing;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.spark.ml.linalg.DenseVector;
+import org.apache.spark.ml.linalg.SparseVector;
+import org.apache.spark.ml.linalg.Vector;
+import org.apache.spark.ml.linalg.VectorUDT;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.types.ArrayType;
+import org.apache.spark.sql.types.DataType;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.DecimalType;
+import org.apache.spark.sql.types.StructField;
+import org.apache.spark.sql.types.StructType;
+import org.joda.time.DateTime;
+import org.rumbledb.api.Item;
+import org.rumbledb.exceptions.ExceptionMetadata;
+import org.rumbledb.exceptions.OurBadException;
+import org.rumbledb.items.ItemFactory;
+import org.rumbledb.types.BuiltinTypesCatalogue;
+import org.rumbledb.types.FieldDescriptor;
+import org.rumbledb.types.ItemType;
+import scala.collection.Seq;
+import sparksoniq.spark.SparkSessionManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts DataFrame values of a given Spark type to items. The Spark type and the item type are only inspected when
+ * the converter is built: a converter for rows is a tree of converters for their fields, with the positions of the
+ * fields and of the update bookkeeping columns resolved ahead of time. A converter is meant to be built once, e.g.,
+ * for the schema of a DataFrame, and applied to all of its rows.
+ */
+public abstract class ItemConverter {
+
+    /**
+     * Converts a value.
+     *
+     * @param value the value, as found in a row, which may be null.
+     * @return the converted item.
+     */
+    public abstract Item convert(Object value);
+
+    /**
+     * Builds a converter for rows. Rows with a single atomic item column are converted to this item, and other rows
+     * to objects.
+     *
+     * @param schema the schema of the rows.
+     * @param itemType the type to annotate the output items with (for now, it can be null for no annotation).
+     * @param metadata exception metadata if an error is thrown.
+     * @return the converter, which takes rows as input.
+     */
+    public static ItemConverter forRow(StructType schema, ItemType itemType, ExceptionMetadata metadata) {
+        StructField[] fields = schema.fields();
+        String[] fieldNames = schema.fieldNames();
+
+        if (fields.length == 1 && fieldNames[0].equals(SparkSessionManager.atomicJSONiqItemColumnName)) {
+            return new AtomicRowConverter(forValue(fields[0].dataType(), itemType, metadata), schema);
+        }
+
+        if (
+            fields.length == 5
+                && fieldNames[0].equals(SparkSessionManager.atomicJSONiqItemColumnName)
+                && fieldNames[4].equals("tableLocation")
+        ) {
+            ItemType resType = null;
+            if (itemType != null) {
+                resType = itemType.getObjectContentFacet()
+                    .get(SparkSessionManager.atomicJSONiqItemColumnName)
+                    .getType();
+            }
+            return new AtomicRowConverter(forValue(fields[0].dataType(), resType, metadata), schema);
+        }
+
+        Map<String, FieldDescriptor> content = null;
+        if (itemType != null && !itemType.equals(BuiltinTypesCatalogue.item)) {
+            content = itemType.getObjectContentFacet();
+            if (content == null) {
+                throw new OurBadException(
+                        "Object descriptor content in type " + itemType.getIdentifierString() + " is null."
+                );
+            }
+        }
+        ObjectRowConverter converter = new ObjectRowConverter(schema, metadata);
+        for (int i = 0; i < fields.length; ++i) {
+            String fieldName = fields[i].name();
+            if (converter.isBookkeepingColumn(i)) {
+                continue;
+            }
+            ItemType fieldItemType = null;
+            if (content != null) {
+                FieldDescriptor descriptor = content.get(fieldName);
+                if (descriptor != null) {
+                    fieldItemType = descriptor.getType();
+                    if (fieldItemType == null) {
+                        throw new OurBadException(
+                                "Type for field "
+                                    + fieldName
+                                    + " in type "
+                                    + itemType.getIdentifierString()
+                                    + " is null."
+                        );
+                    }
+                }
+            }
+            converter.addField(i, forValue(fields[i].dataType(), fieldItemType, metadata));
+        }
+        return converter;
+    }
+
+    /**
+     * Builds a converter for values of a Spark type.
+     *
+     * @param fieldType the Spark type of the values.
+     * @param requestedType the type to annotate the output items with (for now, it can be null for no annotation).
+     * @param metadata exception metadata if an error is thrown.
+     * @return the converter.
+     */
+    public static ItemConverter forValue(DataType fieldType, ItemType requestedType, ExceptionMetadata metadata) {
+        ItemType itemType = requestedType != null && requestedType.getName() == null
+            ? requestedType.getBaseType()
+            : requestedType;
+        if (fieldType.equals(DataTypes.StringType)) {
+            return annotate(
+                value -> ItemFactory.getInstance().createStringItem((String) value),
+                itemType,
+                BuiltinTypesCatalogue.stringItem
+            );
+        }
+        if (fieldType.equals(DataTypes.BooleanType)) {
+            return annotate(
+                value -> ItemFactory.getInstance().createBooleanItem((Boolean) value),
+                itemType,
+                BuiltinTypesCatalogue.booleanItem
+            );
+        }
+        if (fieldType.equals(DataTypes.DoubleType)) {
+            return annotate(
+                value -> ItemFactory.getInstance().createDoubleItem((Double) value),
+                itemType,
+                BuiltinTypesCatalogue.doubleItem
+            );
+        }
+        if (fieldType.equals(DataTypes.IntegerType)) {
+            return annotate(
+                value -> ItemFactory.getInstance().createIntItem((Integer) value),
+                itemType,
+                BuiltinTypesCatalogue.intItem
+            );
+        }
+        if (fieldType.equals(DataTypes.FloatType)) {
+            return annotate(
+                value -> ItemFactory.getInstance().createFloatItem((Float) value),
+                itemType,
+                BuiltinTypesCatalogue.floatItem
+            );
+        }
+        if (fieldType instanceof DecimalType && ((DecimalType) fieldType).scale() == 0) {
+            return annotate(
+                value -> ItemFactory.getInstance().createIntegerItem(((BigDecimal) value).toBigIntegerExact()),
+                itemType,
+                BuiltinTypesCatalogue.integerItem
+            );
+        }
+        if (fieldType instanceof DecimalType) {
+            return annotate(
+                value -> ItemFactory.getInstance().createDecimalItem((BigDecimal) value),
+                itemType,
+                BuiltinTypesCatalogue.decimalItem
+            );
+        }
+        if (fieldType.equals(DataTypes.LongType)) {
+            return annotate(
+                value -> ItemFactory.getInstance().createLongItem((Long) value),
+                itemType,
+                BuiltinTypesCatalogue.longItem
+            );
+        }
+        if (fieldType.equals(DataTypes.NullType)) {
+            return new SimpleConverter(value -> ItemFactory.getInstance().createNullItem());
+        }
+        if (fieldType.equals(DataTypes.ByteType)) {
+            return annotate(value -> ItemFactory.getInstance().createIntItem((Byte) value), itemType, null);
+        }
+        if (fieldType.equals(DataTypes.ShortType)) {
+            return annotate(value -> ItemFactory.getInstance().createIntItem((Short) value), itemType, null);
+        }
+        if (fieldType.equals(DataTypes.TimestampType)) {
+            return annotate(
+                value -> ItemFactory.getInstance()
+                    .createDateTimeItem(new DateTime(((Timestamp) value).toInstant()), false),
+                itemType,
+                BuiltinTypesCatalogue.dateTimeStampItem
+            );
+        }
+        if (fieldType.equals(DataTypes.DateType)) {
+            return annotate(
+                value -> ItemFactory.getInstance().createDateItem(new DateTime(((Date) value).getTime()), false),
+                itemType,
+                BuiltinTypesCatalogue.dateItem
+            );
+        }
+        if (fieldType.equals(DataTypes.BinaryType)) {
+            return annotate(
+                value -> ItemFactory.getInstance().createHexBinaryItem(Hex.encodeHexString((byte[]) value)),
+                itemType,
+                BuiltinTypesCatalogue.hexBinaryItem
+            );
+        }
+        if (fieldType instanceof StructType) {
+            ItemConverter rowConverter = forRow((StructType) fieldType, itemType, metadata);
+            return annotate(rowConverter::convert, itemType, BuiltinTypesCatalogue.objectItem);
+        }
+        if (fieldType instanceof ArrayType) {
+            ItemType memberType = null;
+            if (itemType != null && !itemType.equals(BuiltinTypesCatalogue.item)) {
+                memberType = itemType.getArrayContentFacet();
+            }
+            ItemConverter memberConverter = forValue(((ArrayType) fieldType).elementType(), memberType, metadata);
+            return annotate(value -> {
+                Seq<?> objects = (Seq<?>) value;
+                int size = objects.length();
+                List<Item> members = new ArrayList<>(size);
+                for (int index = 0; index < size; index++) {
+                    members.add(memberConverter.convert(objects.apply(index)));
+                }
+                return ItemFactory.getInstance().createArrayItem(members, false);
+            }, itemType, BuiltinTypesCatalogue.arrayItem);
+        }
+        if (fieldType instanceof VectorUDT) {
+            return new SimpleConverter(value -> convertVector((Vector) value, itemType, metadata));
+        }
+        throw new RuntimeException("DataFrame type unsupported: " + fieldType.json());
+    }
+
+    private static Item convertVector(Vector vector, ItemType itemType, ExceptionMetadata metadata) {
+        if (vector instanceof DenseVector) {
+            // a dense vector is mapped to a rumble array
+            DenseVector denseVector = (DenseVector) vector;
+            List<Item> members = new ArrayList<>(vector.size());
+            for (double value : denseVector.values()) {
+                members.add(ItemFactory.getInstance().createDoubleItem(value));
+            }
+            Item item = ItemFactory.getInstance().createArrayItem(members, false);
+            if (itemType == null || itemType.equals(BuiltinTypesCatalogue.arrayItem)) {
+                return item;
+            }
+            return ItemFactory.getInstance().createAnnotatedItem(item, itemType);
+        }
+        if (vector instanceof SparseVector) {
+            // a sparse vector is mapped to a Rumble object where keys are indices of the non-0 values in the vector
+            SparseVector sparseVector = (SparseVector) vector;
+            List<String> objectKeyList = new ArrayList<>();
+            List<Item> objectValueList = new ArrayList<>();
+            int[] vectorIndices = sparseVector.indices();
+            double[] vectorValues = sparseVector.values();
+            for (int j = 0; j < vectorIndices.length; j++) {
+                objectKeyList.add(String.valueOf(vectorIndices[j]));
+                objectValueList.add(ItemFactory.getInstance().createDoubleItem(vectorValues[j]));
+            }
+            Item item = ItemFactory.getInstance().createObjectItem(objectKeyList, objectValueList, metadata, false);
+            if (itemType == null || itemType.equals(BuiltinTypesCatalogue.objectItem)) {
+                return item;
+            }
+            return ItemFactory.getInstance().createAnnotatedItem(item, itemType);
+        }
+        throw new OurBadException("Unexpected program state reached while converting vectorUDT to rumble item");
+    }
+
+    /**
+     * Wraps a conversion, annotating its output unless the requested type is absent or is the type of the output
+     * anyway.
+     */
+    private static ItemConverter annotate(ValueConverter conversion, ItemType itemType, ItemType convertedType) {
+        if (itemType == null && convertedType != null || itemType != null && itemType.equals(convertedType)) {
+            return new SimpleConverter(conversion);
+        }
+        return new SimpleConverter(
+                value -> ItemFactory.getInstance().createAnnotatedItem(conversion.convert(value), itemType)
+        );
+    }
+
+    private interface ValueConverter {
+        Item convert(Object value);
+    }
+
+    private static class SimpleConverter extends ItemConverter {
+
+        private final ValueConverter conversion;
+
+        SimpleConverter(ValueConverter conversion) {
+            this.conversion = conversion;
+        }
+
+        @Override
+        public Item convert(Object value) {
+            // NULL values in DataFrames are mapped to null.
+            if (value == null) {
+                return ItemFactory.getInstance().createNullItem();
+            }
+            return this.conversion.convert(value);
+        }
+    }
+
+    /**
+     * Converts rows to objects, with one member per non-null column, and sets their update bookkeeping information
+     * from the dedicated columns.
+     */
+    private static class ObjectRowConverter extends ItemConverter {
+
+        private final ExceptionMetadata metadata;
+        private final String[] fieldNames;
+        // Whether a null value in a field is kept as a null member, rather than an absent one.
+        private final boolean[] nullsKept;
+        private final List<Integer> fieldIndices;
+        private final List<ItemConverter> fieldConverters;
+        private final BookkeepingColumns bookkeepingColumns;
+
+        ObjectRowConverter(StructType schema, ExceptionMetadata metadata) {
+            this.metadata = metadata;
+            this.fieldNames = schema.fieldNames();
+            this.nullsKept = new boolean[this.fieldNames.length];
+            for (int i = 0; i < this.fieldNames.length; ++i) {
+                this.nullsKept[i] = !this.fieldNames[i].equals(SparkSessionManager.emptyObjectJSONiqItemColumnName)
+                    && schema.fields()[i].dataType().equals(DataTypes.NullType);
+            }
+            this.fieldIndices = new ArrayList<>(this.fieldNames.length);
+            this.fieldConverters = new ArrayList<>(this.fieldNames.length);
+            this.bookkeepingColumns = new BookkeepingColumns(this.fieldNames);
+        }
+
+        boolean isBookkeepingColumn(int index) {
+            return this.bookkeepingColumns.contains(index);
+        }
+
+        void addField(int index, ItemConverter converter) {
+            this.fieldIndices.add(index);
+            this.fieldConverters.add(converter);
+        }
+
+        @Override
+        public Item convert(Object value) {
+            if (value == null) {
+                return ItemFactory.getInstance().createNullItem();
+            }
+            Row row = (Row) value;
+            int size = this.fieldIndices.size();
+            List<String> keys = new ArrayList<>(size);
+            List<Item> values = new ArrayList<>(size);
+            for (int f = 0; f < size; ++f) {
+                int i = this.fieldIndices.get(f);
+                Item newItem = this.fieldConverters.get(f).convert(row.get(i));
+                // NULL values in DataFrames are mapped to absent in JSONiq.
+                if (!newItem.isNull() || this.nullsKept[i]) {
+                    keys.add(this.fieldNames[i]);
+                    values.add(newItem);
+                }
+            }
+            Item res = ItemFactory.getInstance().createObjectItem(keys, values, this.metadata, false);
+            this.bookkeepingColumns.set(res, row, false);
+            return res;
+        }
+    }
+
+    /**
+     * Converts rows with a single atomic item column, and possibly update bookkeeping columns, to this item.
+     */
+    private static class AtomicRowConverter extends ItemConverter {
+
+        private final ItemConverter converter;
+        private final BookkeepingColumns bookkeepingColumns;
+
+        AtomicRowConverter(ItemConverter converter, StructType schema) {
+            this.converter = converter;
+            this.bookkeepingColumns = new BookkeepingColumns(schema.fieldNames());
+        }
+
+        @Override
+        public Item convert(Object value) {
+            if (value == null) {
+                return ItemFactory.getInstance().createNullItem();
+            }
+            Row row = (Row) value;
+            Item res = this.converter.convert(row.get(0));
+            this.bookkeepingColumns.set(res, row, true);
+            return res;
+        }
+    }
+
+    /**
+     * The positions of the columns that hold the update bookkeeping information of the items read from a Delta table,
+     * or -1 for absent columns.
+     */
+    private static class BookkeepingColumns {
+
+        private final int mutabilityLevel;
+        private final int rowId;
+        private final int pathIn;
+        private final int tableLocation;
+
+        BookkeepingColumns(String[] fieldNames) {
+            int mutabilityLevel = -1;
+            int rowId = -1;
+            int pathIn = -1;
+            int tableLocation = -1;
+            for (int i = 0; i < fieldNames.length; ++i) {
+                if (fieldNames[i].equals(SparkSessionManager.mutabilityLevelColumnName)) {
+                    mutabilityLevel = i;
+                } else if (fieldNames[i].equals(SparkSessionManager.rowIdColumnName)) {
+                    rowId = i;
+                } else if (fieldNames[i].equals(SparkSessionManager.pathInColumnName)) {
+                    pathIn = i;
+                } else if (fieldNames[i].equals(SparkSessionManager.tableLocationColumnName)) {
+                    tableLocation = i;
+                }
+            }
+            this.mutabilityLevel = mutabilityLevel;
+            this.rowId = rowId;
+            this.pathIn = pathIn;
+            this.tableLocation = tableLocation;
+        }
+
+        boolean contains(int index) {
+            return index == this.mutabilityLevel
+                || index == this.rowId
+                || index == this.pathIn
+                || index == this.tableLocation;
+        }
+
+        /**
+         * Sets the bookkeeping information of an item from a row.
+         *
+         * @param item the item.
+         * @param row the row.
+         * @param onlyPresent whether to leave the information of the item untouched for absent columns, rather than
+         *        resetting it.
+         */
+        void set(Item item, Row row, boolean onlyPresent) {
+            if (this.mutabilityLevel != -1) {
+                item.setMutabilityLevel(row.getInt(this.mutabilityLevel));
+            } else if (!onlyPresent) {
+                item.setMutabilityLevel(-1);
+            }
+            if (this.rowId != -1) {
+                item.setTopLevelID(row.getLong(this.rowId));
+            } else if (!onlyPresent) {
+                item.setTopLevelID(-1);
+            }
+            if (this.pathIn != -1) {
+                item.setPathIn(row.getString(this.pathIn));
+            } else if (!onlyPresent) {
+                item.setPathIn("null");
+            }
+            if (this.tableLocation != -1) {
+                item.setTableLocation(row.getString(this.tableLocation));
+            } else if (!onlyPresent) {
+                item.setTableLocation("null");
+            }
+        }
+    }
+}
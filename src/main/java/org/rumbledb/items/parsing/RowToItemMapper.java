@@ -22,6 +22,7 @@ package org.rumbledb.items.parsing;
 
 import org.apache.spark.api.java.function.Function;
 import org.apache.spark.sql.Row;
+import org.apache.spark.sql.types.StructType;
 import org.rumbledb.api.Item;
 import org.rumbledb.exceptions.ExceptionMetadata;
 import org.rumbledb.types.ItemType;
@@ -31,6 +32,9 @@ public class RowToItemMapper implements Function<Row, Item> {
     private static final long serialVersionUID = 1L;
     private final ExceptionMetadata metadata;
     private final ItemType itemType;
+    // Built on the first row, as all rows of a DataFrame share its schema.
+    private transient StructType schema;
+    private transient ItemConverter converter;
 
     public RowToItemMapper(ExceptionMetadata metadata, ItemType itemType) {
         this.metadata = metadata;
@@ -44,6 +48,10 @@ public class RowToItemMapper implements Function<Row, Item> {
 
     @Override
     public Item call(Row row) throws Exception {
-        return ItemParser.getItemFromRow(row, this.metadata, this.itemType);
+        if (row.schema() != this.schema) {
+            this.schema = row.schema();
+            this.converter = ItemConverter.forRow(this.schema, this.itemType, this.metadata);
+        }
+        return this.converter.convert(row);
     }
 }
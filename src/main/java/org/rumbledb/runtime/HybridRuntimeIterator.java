@@ -34,6 +34,7 @@ import org.rumbledb.items.parsing.RowToItemMapper;
 import org.rumbledb.items.structured.JSoundDataFrame;
 
 import sparksoniq.spark.SparkSessionManager;
+import sparksoniq.spark.StreamingRDDIterator;
 
 import java.util.List;
 
@@ -42,6 +43,7 @@ public abstract class HybridRuntimeIterator extends RuntimeIterator {
     private static final long serialVersionUID = 1L;
     protected List<Item> result = null;
     private int currentResultIndex = 0;
+    private transient StreamingRDDIterator<Item> streamedResult = null;
 
     protected HybridRuntimeIterator(
             List<RuntimeIterator> children,
@@ -85,6 +87,7 @@ public abstract class HybridRuntimeIterator extends RuntimeIterator {
             return;
         }
         this.result = null;
+        closeStreamedResult();
     }
 
     @Override
@@ -95,6 +98,14 @@ public abstract class HybridRuntimeIterator extends RuntimeIterator {
             return;
         }
         this.result = null;
+        closeStreamedResult();
+    }
+
+    private void closeStreamedResult() {
+        if (this.streamedResult != null) {
+            this.streamedResult.close();
+            this.streamedResult = null;
+        }
     }
 
     @Override
@@ -102,7 +113,7 @@ public abstract class HybridRuntimeIterator extends RuntimeIterator {
         if (isLocal() && implementsLocal()) {
             return hasNextLocal();
         }
-        if (this.result == null) {
+        if (this.result == null && this.streamedResult == null) {
             this.currentResultIndex = 0;
             JavaRDD<Item> rdd = null;
             if (!isRDD() && implementsDataFrames()) {
@@ -113,8 +124,15 @@ public abstract class HybridRuntimeIterator extends RuntimeIterator {
             } else {
                 rdd = this.getRDDAux(this.currentDynamicContextForLocalExecution);
             }
-            this.result = SparkSessionManager.collectRDDwithLimit(rdd, this.getMetadata());
-            this.hasNext = !this.result.isEmpty();
+            if (SparkSessionManager.LIMIT_COLLECT()) {
+                this.result = SparkSessionManager.collectRDDwithLimit(rdd, this.getMetadata());
+                this.hasNext = !this.result.isEmpty();
+            } else {
+                // Without a materialization cap, the result is streamed rather than collected, so that the first
+                // items are available early and the driver does not need to hold the whole sequence.
+                this.streamedResult = new StreamingRDDIterator<>(rdd);
+                this.hasNext = this.streamedResult.hasNext();
+            }
         }
         return this.hasNext;
     }
@@ -128,6 +146,18 @@ public abstract class HybridRuntimeIterator extends RuntimeIterator {
             throw new IteratorFlowException("Runtime iterator is not open", getMetadata());
         }
 
+        if (this.streamedResult != null) {
+            if (!this.hasNext) {
+                throw new IteratorFlowException(
+                        RuntimeIterator.FLOW_EXCEPTION_MESSAGE + this.getClass().getSimpleName(),
+                        getMetadata()
+                );
+            }
+            Item item = this.streamedResult.next();
+            this.hasNext = this.streamedResult.hasNext();
+            return item;
+        }
+
         if (!(this.currentResultIndex <= this.result.size() - 1)) {
             throw new IteratorFlowException(
                     RuntimeIterator.FLOW_EXCEPTION_MESSAGE + this.getClass().getSimpleName(),
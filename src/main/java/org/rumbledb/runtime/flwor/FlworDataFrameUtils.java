@@ -47,6 +47,7 @@ import org.apache.spark.sql.expressions.Window;
 import org.apache.spark.sql.types.ArrayType;
 import org.apache.spark.sql.types.DataType;
 import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.DecimalType;
 import org.apache.spark.sql.types.StructField;
 import org.apache.spark.sql.types.StructType;
 import org.rumbledb.api.Item;
@@ -533,7 +534,7 @@ public class FlworDataFrameUtils {
             }
             case AVERAGE: {
                 if (columnNames.contains(variableName.toString() + ".average")) {
-                    result.add(new FlworDataFrameColumn(variableName, ColumnFormat.MAX));
+                    result.add(new FlworDataFrameColumn(variableName, ColumnFormat.AVERAGE));
                     return;
                 }
                 if (columnNames.contains(variableName.toString() + ".sequence")) {
@@ -704,15 +705,16 @@ public class FlworDataFrameUtils {
                     continue;
                 }
                 DataType dt = inputSchema.fields()[columnIndex].dataType();
+                String aggregate = isProcessingGroupingColumn(groupbyVariableNames, column)
+                    ? null
+                    : getNativeAggregateProjection(inputSchema, column, dependency.getValue());
 
                 if (column.isCount()) {
                     queryColumnString.append(String.format("sum(%s)", column));
-                } else if (column.isSum()) {
-                    queryColumnString.append(String.format("sum(%s)", column));
-                } else if (column.isMax()) {
-                    queryColumnString.append(String.format("max(%s)", column));
-                } else if (column.isMin()) {
-                    queryColumnString.append(String.format("min(%s)", column));
+                } else if (aggregate != null) {
+                    // the aggregate comes with its own column name
+                    queryColumnString.append(aggregate);
+                    continue;
                 } else if (
                     shouldCalculateCountGroupingColumn(dependencies, groupbyVariableNames, column)
                 ) {
@@ -756,6 +758,117 @@ public class FlworDataFrameUtils {
         return queryColumnString.toString();
     }
 
+    /**
+     * Returns a Spark SQL aggregate that computes the sum, the average, the minimum or the maximum of a variable over
+     * a group of tuples, so that Spark can aggregate partially before shuffling instead of collecting all values of
+     * the group into one row. Averages are kept as the sum and the count of the values.
+     *
+     * A column that already holds such an aggregate (e.g., from a previous group by clause) is aggregated further.
+     * Otherwise, an aggregate is only returned for the column types for which Spark gives the same result as the
+     * JSONiq function.
+     *
+     * @param inputSchema the schema of the input tuples.
+     * @param column the column of the variable in the input tuples.
+     * @param dependency the dependency on the variable after grouping.
+     * @return the aggregate, followed by the name of the column it goes to, or null if the values must be collected.
+     */
+    public static String getNativeAggregateProjection(
+            StructType inputSchema,
+            FlworDataFrameColumn column,
+            DynamicContext.VariableDependency dependency
+    ) {
+        DataType dataType = inputSchema.fields()[inputSchema.fieldIndex(column.getColumnName())].dataType();
+        if (column.isSum()) {
+            return String.format("sum(%s) as %s", column, column);
+        }
+        if (column.isMin() || column.isMax()) {
+            return String.format("%s as %s", getNativeMinOrMax(column.isMin(), column.toString(), dataType), column);
+        }
+        if (column.isAverage()) {
+            return String.format(
+                "named_struct('sum', sum(%s.sum), 'count', sum(%s.count)) as %s",
+                column,
+                column,
+                column
+            );
+        }
+        if (!column.isFullyNative()) {
+            return null;
+        }
+        Name variableName = column.getVariableName();
+        switch (dependency) {
+            case SUM: {
+                String sum = getNativeSum(column.toString(), dataType);
+                if (sum == null) {
+                    return null;
+                }
+                return String.format("%s as %s", sum, new FlworDataFrameColumn(variableName, ColumnFormat.SUM));
+            }
+            case AVERAGE: {
+                String sum = getNativeSum(column.toString(), dataType);
+                if (sum == null) {
+                    return null;
+                }
+                return String.format(
+                    "named_struct('sum', %s, 'count', count(%s)) as %s",
+                    sum,
+                    column,
+                    new FlworDataFrameColumn(variableName, ColumnFormat.AVERAGE)
+                );
+            }
+            case MIN:
+            case MAX: {
+                boolean isMin = dependency == DynamicContext.VariableDependency.MIN;
+                String minOrMax = getNativeMinOrMax(isMin, column.toString(), dataType);
+                if (minOrMax == null) {
+                    return null;
+                }
+                return String.format(
+                    "%s as %s",
+                    minOrMax,
+                    new FlworDataFrameColumn(variableName, isMin ? ColumnFormat.MIN : ColumnFormat.MAX)
+                );
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static String getNativeSum(String column, DataType dataType) {
+        if (
+            dataType.equals(DataTypes.DoubleType)
+                || dataType.equals(DataTypes.IntegerType)
+                || dataType.equals(DataTypes.ShortType)
+                || dataType.equals(DataTypes.ByteType)
+        ) {
+            return String.format("sum(%s)", column);
+        }
+        // Spark sums longs as longs, which can overflow, while JSONiq integers cannot.
+        if (
+            dataType.equals(DataTypes.LongType)
+                || (dataType instanceof DecimalType && ((DecimalType) dataType).scale() == 0)
+        ) {
+            return String.format("sum(cast(%s as decimal(38, 0)))", column);
+        }
+        // Other decimals would silently overflow into a null sum.
+        return null;
+    }
+
+    private static String getNativeMinOrMax(boolean isMin, String column, DataType dataType) {
+        // The same as for a data frame sequence, see MinFunctionIterator and MaxFunctionIterator.
+        if (
+            dataType.equals(DataTypes.DoubleType)
+                || dataType.equals(DataTypes.FloatType)
+                || dataType.equals(DataTypes.IntegerType)
+                || dataType.equals(DataTypes.LongType)
+                || dataType instanceof DecimalType
+                || dataType.equals(DataTypes.StringType)
+        ) {
+            return String.format("%s(%s)", isMin ? "min" : "max", column);
+        }
+        return null;
+    }
+
     public static boolean isNativeSequence(StructType schema, String columnName) {
         String[] fields = schema.fieldNames();
         for (String field : fields) {
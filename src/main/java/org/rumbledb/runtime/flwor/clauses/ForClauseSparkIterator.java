@@ -26,6 +26,7 @@ import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.RowFactory;
+import org.apache.spark.sql.functions;
 import org.apache.spark.sql.types.DataTypes;
 import org.apache.spark.sql.types.StructField;
 import org.apache.spark.sql.types.StructType;
@@ -52,6 +53,7 @@ import org.rumbledb.runtime.flwor.udfs.ForClauseUDF;
 import org.rumbledb.runtime.flwor.udfs.GenericForClauseUDF;
 import org.rumbledb.runtime.flwor.udfs.IntegerSerializeUDF;
 import org.rumbledb.runtime.navigation.PredicateIterator;
+import org.rumbledb.runtime.primary.VariableReferenceIterator;
 import org.rumbledb.types.BuiltinTypesCatalogue;
 import org.rumbledb.types.ItemType;
 import org.rumbledb.types.SequenceType;
@@ -81,6 +83,7 @@ public class ForClauseSparkIterator extends RuntimeTupleIterator {
     private Name positionalVariableName; // for efficient use in local iteration
     private RuntimeIterator assignmentIterator;
     private boolean allowingEmpty;
+    private Set<String> projectedFields; // fields of the bound objects used downstream, null if all
     private DataFrameContext dataFrameContext;
 
     // Computation state
@@ -96,6 +99,7 @@ public class ForClauseSparkIterator extends RuntimeTupleIterator {
             Name positionalVariableName,
             boolean allowingEmpty,
             RuntimeIterator assignmentIterator,
+            Set<String> projectedFields,
             RuntimeStaticContext staticContext
     ) {
         super(child, staticContext);
@@ -103,6 +107,7 @@ public class ForClauseSparkIterator extends RuntimeTupleIterator {
         this.positionalVariableName = positionalVariableName;
         this.assignmentIterator = assignmentIterator;
         this.allowingEmpty = allowingEmpty;
+        this.projectedFields = projectedFields;
         this.assignmentIterator.getVariableDependencies();
         this.dataFrameContext = new DataFrameContext();
     }
@@ -435,6 +440,7 @@ public class ForClauseSparkIterator extends RuntimeTupleIterator {
                 Name.CONTEXT_ITEM,
                 Name.CONTEXT_POSITION,
                 false,
+                null,
                 context,
                 startingClauseDependencies
             ).getDataFrame();
@@ -446,6 +452,7 @@ public class ForClauseSparkIterator extends RuntimeTupleIterator {
                 Name.CONTEXT_ITEM,
                 null,
                 false,
+                null,
                 context,
                 startingClauseDependencies
             ).getDataFrame();
@@ -751,6 +758,7 @@ public class ForClauseSparkIterator extends RuntimeTupleIterator {
             this.variableName,
             this.positionalVariableName,
             this.allowingEmpty,
+            this.projectedFields,
             context,
             outputDependencies
         );
@@ -764,6 +772,7 @@ public class ForClauseSparkIterator extends RuntimeTupleIterator {
      * @param variableName the name of the for variable
      * @param positionalVariableName the name of the positional variable (or null if none)
      * @param allowingEmpty whether the allowing empty option is present
+     * @param projectedFields the object fields to keep (or null to keep all of them)
      * @param context the dynamic context.
      * @param outputDependencies the desired project.
      * @return the resulting DataFrame.
@@ -773,6 +782,7 @@ public class ForClauseSparkIterator extends RuntimeTupleIterator {
             Name variableName,
             Name positionalVariableName,
             boolean allowingEmpty,
+            Set<String> projectedFields,
             DynamicContext context,
             Map<Name, DynamicContext.VariableDependency> outputDependencies
     ) {
@@ -788,7 +798,7 @@ public class ForClauseSparkIterator extends RuntimeTupleIterator {
 
             String assignment = FlworDataFrameUtils.createTempView(rows.getDataFrame());
             if (rows.getItemType().isObjectItemType()) {
-                List<FlworDataFrameColumn> fields = rows.getColumns();
+                List<FlworDataFrameColumn> fields = getProjectedColumns(rows, projectedFields);
                 String columnNames = FlworDataFrameUtils.getSQLColumnProjection(fields, false);
                 df = rows.getDataFrame()
                     .sparkSession()
@@ -812,10 +822,20 @@ public class ForClauseSparkIterator extends RuntimeTupleIterator {
                         )
                     );
             }
-        } else {
+        } else if (iterator.isRDD()) {
             // create initial RDD from expression
             JavaRDD<Item> expressionRDD = iterator.getRDD(context);
             df = getDataFrameFromItemRDD(variableName, expressionRDD).getDataFrame();
+        } else {
+            // A local sequence becomes a local relation, the size of which Spark knows, so that it is broadcast if
+            // it is joined and small enough.
+            List<Item> items = iterator.materialize(context);
+            df = getDataFrameFromItems(variableName, items).getDataFrame();
+        }
+        if (!allowingEmpty && iterator instanceof VariableReferenceIterator) {
+            if (((VariableReferenceIterator) iterator).isBroadcast()) {
+                df = functions.broadcast(df);
+            }
         }
         if (positionalVariableName == null && !allowingEmpty) {
             FlworDataFrame result = new FlworDataFrame(df);
@@ -885,6 +905,40 @@ public class ForClauseSparkIterator extends RuntimeTupleIterator {
         return result;
     }
 
+    /**
+     * Selects the columns of an object DataFrame that make up the objects bound to the variable. Unused fields are
+     * left out, so that Spark does not read them, but the update bookkeeping columns are always kept.
+     *
+     * @param rows the object DataFrame.
+     * @param projectedFields the fields to keep, or null to keep all of them.
+     * @return the columns to put in the variable struct.
+     */
+    private static List<FlworDataFrameColumn> getProjectedColumns(JSoundDataFrame rows, Set<String> projectedFields) {
+        List<FlworDataFrameColumn> columns = rows.getColumns();
+        if (projectedFields == null) {
+            return columns;
+        }
+        List<FlworDataFrameColumn> result = new ArrayList<>();
+        List<String> keys = rows.getKeys();
+        for (int i = 0; i < keys.size(); ++i) {
+            String key = keys.get(i);
+            if (
+                projectedFields.contains(key)
+                    || key.equals(SparkSessionManager.mutabilityLevelColumnName)
+                    || key.equals(SparkSessionManager.rowIdColumnName)
+                    || key.equals(SparkSessionManager.pathInColumnName)
+                    || key.equals(SparkSessionManager.tableLocationColumnName)
+            ) {
+                result.add(columns.get(i));
+            }
+        }
+        if (result.isEmpty() && !columns.isEmpty()) {
+            // A struct needs at least one field.
+            result.add(columns.get(0));
+        }
+        return result;
+    }
+
     private static FlworDataFrame getDataFrameFromItemRDD(Name variableName, JavaRDD<Item> expressionRDD) {
         // define a schema
         List<StructField> fields = Collections.singletonList(
@@ -900,6 +954,23 @@ public class ForClauseSparkIterator extends RuntimeTupleIterator {
         );
     }
 
+    private static FlworDataFrame getDataFrameFromItems(Name variableName, List<Item> items) {
+        List<StructField> fields = Collections.singletonList(
+            DataTypes.createStructField(variableName.toString(), DataTypes.BinaryType, true)
+        );
+        StructType schema = DataTypes.createStructType(fields);
+
+        ItemsToBinaryColumn converter = new ItemsToBinaryColumn();
+        List<Row> rows = new ArrayList<>(items.size());
+        for (Item item : items) {
+            rows.add(converter.call(item));
+        }
+
+        return new FlworDataFrame(
+                SparkSessionManager.getInstance().getOrCreateSession().createDataFrame(rows, schema)
+        );
+    }
+
     @Override
     public Map<Name, DynamicContext.VariableDependency> getDynamicContextVariableDependencies() {
         Map<Name, DynamicContext.VariableDependency> result =
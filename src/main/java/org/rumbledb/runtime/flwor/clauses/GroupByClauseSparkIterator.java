@@ -50,10 +50,10 @@ import org.rumbledb.runtime.flwor.udfs.GroupClauseCreateColumnsUDF;
 import org.rumbledb.runtime.flwor.udfs.GroupClauseSerializeAggregateResultsUDF;
 import sparksoniq.jsoniq.tuple.FlworKey;
 import sparksoniq.jsoniq.tuple.FlworTuple;
+import sparksoniq.jsoniq.tuple.SpillingTupleGrouper;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -65,8 +65,8 @@ public class GroupByClauseSparkIterator extends RuntimeTupleIterator {
 
     private static final long serialVersionUID = 1L;
     private final List<GroupByClauseSparkIteratorExpression> groupingExpressions;
-    private List<FlworTuple> localTupleResults;
-    private int resultIndex;
+    private SpillingTupleGrouper localGrouper;
+    private Iterator<List<FlworTuple>> localGroups;
     private Map<Name, DynamicContext.VariableDependency> dependencies;
 
     public GroupByClauseSparkIterator(
@@ -104,15 +104,14 @@ public class GroupByClauseSparkIterator extends RuntimeTupleIterator {
     public FlworTuple next() {
         if (this.hasNext) {
 
-            if (this.localTupleResults == null) {
-                this.localTupleResults = new ArrayList<>();
-                this.resultIndex = 0;
+            if (this.localGroups == null) {
                 setAllLocalResults();
             }
 
-            FlworTuple result = this.localTupleResults.get(this.resultIndex++);
-            if (this.resultIndex == this.localTupleResults.size()) {
+            FlworTuple result = linearizeTuples(this.localGroups.next());
+            if (!this.localGroups.hasNext()) {
                 this.hasNext = false;
+                closeLocalGrouper();
             }
             return result;
         }
@@ -124,7 +123,7 @@ public class GroupByClauseSparkIterator extends RuntimeTupleIterator {
         super.close();
         if (this.child != null) {
             this.child.close();
-            this.localTupleResults = null;
+            closeLocalGrouper();
         } else {
             throw new OurBadException("Invalid groupby clause.");
         }
@@ -135,7 +134,7 @@ public class GroupByClauseSparkIterator extends RuntimeTupleIterator {
         super.reset(context);
         if (this.child != null) {
             this.child.reset(this.currentDynamicContext);
-            this.localTupleResults = null;
+            closeLocalGrouper();
             this.hasNext = this.child.hasNext();
         } else {
             throw new OurBadException("Invalid groupby clause.");
@@ -143,20 +142,33 @@ public class GroupByClauseSparkIterator extends RuntimeTupleIterator {
     }
 
     /**
-     * All local results need to be calculated for grouping to be performed.
+     * All local results need to be calculated for grouping to be performed. Groups are only linearized as they are
+     * consumed, and tuples are spilled to disk if they exceed the local memory budget.
      */
     private void setAllLocalResults() {
-        Map<FlworKey, List<FlworTuple>> keyTuplePairs = mapTuplesToPairs();
-        keyTuplePairs.forEach((key, tupleList) -> linearizeTuples(tupleList));
+        this.localGrouper = new SpillingTupleGrouper(
+                getConfiguration().getLocalMemoryBudget(),
+                getMetadata()
+        );
+        mapTuplesToPairs(this.localGrouper);
+        this.localGroups = this.localGrouper.groups();
 
         this.child.close();
-        this.hasNext = this.localTupleResults.size() != 0;
+        this.hasNext = this.localGroups.hasNext();
+        if (!this.hasNext) {
+            closeLocalGrouper();
+        }
     }
 
+    private void closeLocalGrouper() {
+        if (this.localGrouper != null) {
+            this.localGrouper.close();
+            this.localGrouper = null;
+        }
+        this.localGroups = null;
+    }
 
-    private HashMap<FlworKey, List<FlworTuple>> mapTuplesToPairs() {
-        HashMap<FlworKey, List<FlworTuple>> keyValuePairs = new HashMap<>();
-
+    private void mapTuplesToPairs(SpillingTupleGrouper grouper) {
         // assign current context as parent. re-use the same context object for efficiency
         DynamicContext tupleContext = new DynamicContext(this.currentDynamicContext);
         while (this.child.hasNext()) {
@@ -225,18 +237,11 @@ public class GroupByClauseSparkIterator extends RuntimeTupleIterator {
                     );
                 }
             }
-            FlworKey key = new FlworKey(results);
-            List<FlworTuple> values = keyValuePairs.get(key); // all values for a single matching key are held in a list
-            if (values == null) {
-                values = new ArrayList<>();
-                keyValuePairs.put(key, values);
-            }
-            values.add(inputTuple);
+            grouper.add(new FlworKey(results), inputTuple);
         }
-        return keyValuePairs;
     }
 
-    private void linearizeTuples(List<FlworTuple> keyTuplePairs) {
+    private FlworTuple linearizeTuples(List<FlworTuple> keyTuplePairs) {
         Iterator<FlworTuple> iterator = keyTuplePairs.iterator();
         FlworTuple oldFirstTuple = iterator.next();
         FlworTuple newTuple = new FlworTuple(oldFirstTuple.getLocalKeys().size());
@@ -255,7 +260,7 @@ public class GroupByClauseSparkIterator extends RuntimeTupleIterator {
                 newTuple.putValue(tupleVariable, allValues);
             }
         }
-        this.localTupleResults.add(newTuple);
+        return newTuple;
     }
 
     @Override
@@ -564,6 +569,21 @@ public class GroupByClauseSparkIterator extends RuntimeTupleIterator {
                 selectString.append("`");
                 continue;
             }
+            if (
+                entry.getValue() != DynamicContext.VariableDependency.FULL
+                    && entry.getValue() != DynamicContext.VariableDependency.COUNT
+            ) {
+                String aggregate = FlworDataFrameUtils.getNativeAggregateProjection(
+                    inputSchema,
+                    FlworDataFrameUtils.getColumns(inputSchema, entry).get(0),
+                    entry.getValue()
+                );
+                if (aggregate != null) {
+                    // we sum, average, etc. natively, which Spark does partially before shuffling
+                    selectString.append(aggregate);
+                    continue;
+                }
+            }
             if (entry.getValue() == DynamicContext.VariableDependency.COUNT) {
                 if (FlworDataFrameUtils.isVariableAvailableAsNativeSequence(inputSchema, entry.getKey())) {
                     FlworDataFrameColumn dfColumnSequence = new FlworDataFrameColumn(
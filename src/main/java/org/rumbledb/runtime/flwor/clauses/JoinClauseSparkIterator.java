@@ -372,7 +372,7 @@ public class JoinClauseSparkIterator extends RuntimeTupleIterator {
         return new FlworDataFrame(resultDF);
     }
 
-    private static boolean extractEqualityComparisonsForHashing(
+    static boolean extractEqualityComparisonsForHashing(
             RuntimeIterator predicateIterator,
             List<RuntimeIterator> leftTupleSideEqualityCriteria,
             List<RuntimeIterator> rightTupleSideEqualityCriteria,
@@ -400,6 +400,11 @@ public class JoinClauseSparkIterator extends RuntimeTupleIterator {
                     Set<Name> rightComparisonDependencies = new HashSet<>(
                             rhs.getVariableDependencies().keySet()
                     );
+                    // A comparison with a constant is a filter, not a join criterion: all tuples on the constant
+                    // side would have the same hash.
+                    if (leftComparisonDependencies.isEmpty() || rightComparisonDependencies.isEmpty()) {
+                        continue;
+                    }
                     // TODO it would be nice to be more generic and also allow dependencies on the
                     // dynamic context on any side.
                     if (
@@ -324,6 +324,7 @@ public class LetClauseSparkIterator extends RuntimeTupleIterator {
             Name.CONTEXT_ITEM,
             null,
             false,
+            null,
             context,
             sequenceDependencies
         ).getDataFrame();
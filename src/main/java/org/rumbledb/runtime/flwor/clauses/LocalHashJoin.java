@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.rumbledb.runtime.flwor.clauses;
+
+import org.rumbledb.api.Item;
+import org.rumbledb.context.DynamicContext;
+import org.rumbledb.context.Name;
+import org.rumbledb.exceptions.ExceptionMetadata;
+import org.rumbledb.exceptions.MoreThanOneItemException;
+import org.rumbledb.exceptions.UnexpectedTypeException;
+import org.rumbledb.runtime.RuntimeIterator;
+import org.rumbledb.runtime.RuntimeTupleIterator;
+import sparksoniq.jsoniq.tuple.FlworTuple;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates a for clause followed by a where clause with an equality predicate as an in-memory hash join, when the
+ * FLWOR expression is executed locally.
+ *
+ * The sequence of the for clause, which does not depend on the input tuples, is materialized once. The smaller of the
+ * two sides is then hashed on its side of the equality criteria: the input tuples are read ahead up to the size of
+ * the sequence, and if they run out before, they are hashed, otherwise the sequence is. Candidate pairs are those with
+ * equal hashes, and the whole predicate is evaluated on them, so that the results, and their order, are the same as
+ * with nested loops.
+ */
+public class LocalHashJoin {
+
+    private final RuntimeTupleIterator leftChild;
+    private final Name variableName;
+    private final RuntimeIterator assignmentIterator;
+    private final RuntimeIterator predicateIterator;
+    private final List<RuntimeIterator> leftEqualityCriteria;
+    private final List<RuntimeIterator> rightEqualityCriteria;
+    private final ExceptionMetadata metadata;
+
+    private DynamicContext tupleContext;
+    private List<Item> rightItems;
+    // hashes of the sequence, when it is the smaller side.
+    private Map<Long, List<Integer>> rightTable;
+    // input tuples read ahead, and the candidate items for each of them when they are the smaller side.
+    private List<FlworTuple> leftTuples;
+    private List<List<Integer>> leftCandidates;
+    private int leftIndex;
+    private FlworTuple currentLeftTuple;
+    private List<Integer> currentCandidates;
+    private int candidateIndex;
+    private FlworTuple nextResult;
+
+    public LocalHashJoin(
+            RuntimeTupleIterator leftChild,
+            Name variableName,
+            RuntimeIterator assignmentIterator,
+            RuntimeIterator predicateIterator,
+            List<RuntimeIterator> leftEqualityCriteria,
+            List<RuntimeIterator> rightEqualityCriteria,
+            ExceptionMetadata metadata
+    ) {
+        this.leftChild = leftChild;
+        this.variableName = variableName;
+        this.assignmentIterator = assignmentIterator;
+        this.predicateIterator = predicateIterator;
+        this.leftEqualityCriteria = leftEqualityCriteria;
+        this.rightEqualityCriteria = rightEqualityCriteria;
+        this.metadata = metadata;
+    }
+
+    public void open(DynamicContext context) {
+        this.leftChild.open(context);
+        build(context);
+    }
+
+    public void reset(DynamicContext context) {
+        this.leftChild.reset(context);
+        build(context);
+    }
+
+    public void close() {
+        this.leftChild.close();
+        this.tupleContext = null;
+        this.rightItems = null;
+        this.rightTable = null;
+        this.leftTuples = null;
+        this.leftCandidates = null;
+        this.currentLeftTuple = null;
+        this.currentCandidates = null;
+        this.nextResult = null;
+    }
+
+    private void build(DynamicContext context) {
+        this.tupleContext = new DynamicContext(context);
+        this.rightItems = this.assignmentIterator.materialize(context);
+        this.rightTable = null;
+        this.leftCandidates = null;
+        this.leftTuples = new ArrayList<>();
+        while (this.leftTuples.size() < this.rightItems.size() && this.leftChild.hasNext()) {
+            this.leftTuples.add(this.leftChild.next());
+        }
+        if (this.leftChild.hasNext()) {
+            this.rightTable = new HashMap<>();
+            for (int i = 0; i < this.rightItems.size(); ++i) {
+                this.rightTable.computeIfAbsent(getRightHash(this.rightItems.get(i)), k -> new ArrayList<>()).add(i);
+            }
+        } else {
+            this.leftChild.close();
+            Map<Long, List<Integer>> leftTable = new HashMap<>();
+            this.leftCandidates = new ArrayList<>(this.leftTuples.size());
+            for (int i = 0; i < this.leftTuples.size(); ++i) {
+                leftTable.computeIfAbsent(getLeftHash(this.leftTuples.get(i)), k -> new ArrayList<>()).add(i);
+                this.leftCandidates.add(null);
+            }
+            for (int i = 0; i < this.rightItems.size(); ++i) {
+                List<Integer> matchingTuples = leftTable.get(getRightHash(this.rightItems.get(i)));
+                if (matchingTuples == null) {
+                    continue;
+                }
+                for (int tupleIndex : matchingTuples) {
+                    List<Integer> candidates = this.leftCandidates.get(tupleIndex);
+                    if (candidates == null) {
+                        candidates = new ArrayList<>();
+                        this.leftCandidates.set(tupleIndex, candidates);
+                    }
+                    candidates.add(i);
+                }
+            }
+        }
+        this.leftIndex = 0;
+        this.currentCandidates = Collections.emptyList();
+        this.candidateIndex = 0;
+        setNextResult();
+    }
+
+    public boolean hasNext() {
+        return this.nextResult != null;
+    }
+
+    public FlworTuple next() {
+        FlworTuple result = this.nextResult;
+        setNextResult();
+        return result;
+    }
+
+    private void setNextResult() {
+        while (true) {
+            while (this.candidateIndex < this.currentCandidates.size()) {
+                Item item = this.rightItems.get(this.currentCandidates.get(this.candidateIndex++));
+                FlworTuple tuple = new FlworTuple(this.currentLeftTuple);
+                tuple.putValue(this.variableName, item);
+                this.tupleContext.getVariableValues().removeAllVariables();
+                this.tupleContext.getVariableValues().setBindingsFromTuple(tuple, this.metadata);
+                if (this.predicateIterator.getEffectiveBooleanValue(this.tupleContext)) {
+                    this.nextResult = tuple;
+                    return;
+                }
+            }
+            if (!setNextLeftTuple()) {
+                this.nextResult = null;
+                return;
+            }
+        }
+    }
+
+    private boolean setNextLeftTuple() {
+        if (this.leftIndex < this.leftTuples.size()) {
+            this.currentLeftTuple = this.leftTuples.get(this.leftIndex);
+            this.leftTuples.set(this.leftIndex, null);
+            if (this.leftCandidates != null) {
+                this.currentCandidates = this.leftCandidates.get(this.leftIndex);
+                this.leftCandidates.set(this.leftIndex, null);
+            } else {
+                this.currentCandidates = this.rightTable.get(getLeftHash(this.currentLeftTuple));
+            }
+            this.leftIndex++;
+        } else if (this.leftCandidates == null && this.leftChild.hasNext()) {
+            this.currentLeftTuple = this.leftChild.next();
+            this.currentCandidates = this.rightTable.get(getLeftHash(this.currentLeftTuple));
+        } else {
+            return false;
+        }
+        if (this.currentCandidates == null) {
+            this.currentCandidates = Collections.emptyList();
+        }
+        this.candidateIndex = 0;
+        return true;
+    }
+
+    private long getLeftHash(FlworTuple tuple) {
+        this.tupleContext.getVariableValues().removeAllVariables();
+        this.tupleContext.getVariableValues().setBindingsFromTuple(tuple, this.metadata);
+        return getHash(this.leftEqualityCriteria);
+    }
+
+    private long getRightHash(Item item) {
+        this.tupleContext.getVariableValues().removeAllVariables();
+        this.tupleContext.getVariableValues().addVariableValue(this.variableName, Collections.singletonList(item));
+        return getHash(this.rightEqualityCriteria);
+    }
+
+    private long getHash(List<RuntimeIterator> criteria) {
+        long hash = 0;
+        for (RuntimeIterator criterion : criteria) {
+            Item item;
+            try {
+                item = criterion.materializeAtMostOneItemOrNull(this.tupleContext);
+            } catch (MoreThanOneItemException e) {
+                throw new UnexpectedTypeException(
+                        "Invalid args. Value comparison can't be performed on sequences with more than 1 items",
+                        criterion.getMetadata()
+                );
+            }
+            hash = 31 * hash + (item == null ? 0 : getHash(item));
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes an atomic item so that items that are equal with eq have equal hashes. Numbers are compared after
+     * promotion to doubles, and strings and URIs by their string values. Other items, such as dates in different time
+     * zones, may be equal without having equal hashes, so they all get the same hash and are left to the predicate.
+     */
+    private static int getHash(Item item) {
+        if (item.isNumeric()) {
+            double value = item.castToDoubleValue();
+            return value == 0 ? 0 : Double.hashCode(value);
+        }
+        if (item.isString() || item.isAnyURI()) {
+            return item.getStringValue().hashCode();
+        }
+        if (item.isBoolean()) {
+            return item.getBooleanValue() ? 1 : 0;
+        }
+        return 0;
+    }
+}
@@ -55,9 +55,11 @@ import org.rumbledb.types.TypeMappings;
 import sparksoniq.jsoniq.tuple.FlworKey;
 import sparksoniq.jsoniq.tuple.FlworKeyComparator;
 import sparksoniq.jsoniq.tuple.FlworTuple;
+import sparksoniq.jsoniq.tuple.SpillingTupleSorter;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -70,23 +72,26 @@ public class OrderByClauseSparkIterator extends RuntimeTupleIterator {
     private static final long serialVersionUID = 1L;
     private final List<OrderByClauseAnnotatedChildIterator> expressionsWithIterator;
     private Map<Name, DynamicContext.VariableDependency> dependencies;
+    // only the first tuples up to this limit are output, -1 if all tuples are.
+    private final int limit;
 
-    private List<FlworTuple> localTupleResults;
-    private int resultIndex;
+    private SpillingTupleSorter localSorter;
+    private Iterator<FlworTuple> localTupleIterator;
 
     public OrderByClauseSparkIterator(
             RuntimeTupleIterator child,
             List<OrderByClauseAnnotatedChildIterator> expressionsWithIterator,
             boolean stable,
+            int limit,
             RuntimeStaticContext staticContext
     ) {
         super(child, staticContext);
         this.expressionsWithIterator = expressionsWithIterator;
+        this.limit = limit;
         this.dependencies = new TreeMap<>();
         for (OrderByClauseAnnotatedChildIterator e : this.expressionsWithIterator) {
             this.dependencies.putAll(e.getIterator().getVariableDependencies());
         }
-        this.localTupleResults = new ArrayList<>();
     }
 
     @Override
@@ -96,8 +101,7 @@ public class OrderByClauseSparkIterator extends RuntimeTupleIterator {
             throw new OurBadException("Invalid order-by clause.");
         }
         this.child.open(this.currentDynamicContext);
-        this.localTupleResults.clear();
-        this.resultIndex = 0;
+        closeLocalSorter();
         this.hasNext = this.child.hasNext();
     }
 
@@ -108,8 +112,7 @@ public class OrderByClauseSparkIterator extends RuntimeTupleIterator {
             throw new OurBadException("Invalid order-by clause.");
         }
         this.child.reset(this.currentDynamicContext);
-        this.localTupleResults.clear();
-        this.resultIndex = 0;
+        closeLocalSorter();
         this.hasNext = this.child.hasNext();
     }
 
@@ -120,19 +123,19 @@ public class OrderByClauseSparkIterator extends RuntimeTupleIterator {
             throw new OurBadException("Invalid order-by clause.");
         }
         this.child.close();
-        this.localTupleResults.clear();
-        this.resultIndex = 0;
+        closeLocalSorter();
     }
 
     @Override
     public FlworTuple next() {
         if (this.hasNext) {
-            if (this.resultIndex == 0) {
+            if (this.localTupleIterator == null) {
                 setAllLocalResults();
             }
-            FlworTuple result = this.localTupleResults.get(this.resultIndex++);
-            if (this.resultIndex == this.localTupleResults.size()) {
+            FlworTuple result = this.localTupleIterator.next();
+            if (!this.localTupleIterator.hasNext()) {
                 this.hasNext = false;
+                closeLocalSorter();
             }
             return result;
         }
@@ -140,20 +143,48 @@ public class OrderByClauseSparkIterator extends RuntimeTupleIterator {
     }
 
     /**
-     * All local results need to be calculated for sorting/ordering to be performed.
+     * All local results need to be calculated for sorting/ordering to be performed. Unless only the top tuples are
+     * kept, tuples are spilled to disk in sorted runs if they exceed the local memory budget.
      */
     private void setAllLocalResults() {
-        TreeMap<FlworKey, List<FlworTuple>> keyValuePairs = mapExpressionsToOrderedPairs();
-        // get only the values(ordered tuples) and save them in a list for next() calls
-        keyValuePairs.forEach((key, valueList) -> this.localTupleResults.addAll(valueList));
+        long memoryBudget = getConfiguration().getLocalMemoryBudget();
+        if (this.limit == -1 && memoryBudget > 0) {
+            this.localSorter = new SpillingTupleSorter(
+                    new FlworKeyComparator(this.expressionsWithIterator, getMetadata()),
+                    memoryBudget,
+                    getMetadata()
+            );
+            DynamicContext tupleContext = new DynamicContext(this.currentDynamicContext);
+            while (this.child.hasNext()) {
+                FlworTuple inputTuple = this.child.next();
+                this.localSorter.add(computeKey(inputTuple, tupleContext), inputTuple);
+            }
+            this.localTupleIterator = this.localSorter.sortedTuples();
+        } else {
+            TreeMap<FlworKey, List<FlworTuple>> keyValuePairs = mapExpressionsToOrderedPairs();
+            // get only the values(ordered tuples) for next() calls
+            this.localTupleIterator = keyValuePairs.values().stream().flatMap(List::stream).iterator();
+        }
 
         this.child.close();
-        this.hasNext = this.localTupleResults.size() != 0;
+        this.hasNext = this.localTupleIterator.hasNext();
+        if (!this.hasNext) {
+            closeLocalSorter();
+        }
+    }
+
+    private void closeLocalSorter() {
+        if (this.localSorter != null) {
+            this.localSorter.close();
+            this.localSorter = null;
+        }
+        this.localTupleIterator = null;
     }
 
     /**
      * Evaluates expressions to atomics(error is thrown if not possible) which are used as keys for sorted TreeMap.
-     * Requires child iterator to be opened.
+     * Requires child iterator to be opened. If there is a limit, only the tuples with the smallest keys are kept,
+     * so that the map never holds more than limit tuples.
      *
      * @return Sorted TreeMap(ascending). key - atomics from expressions, value - input tuples
      */
@@ -161,51 +192,78 @@ public class OrderByClauseSparkIterator extends RuntimeTupleIterator {
         // tree map keeps the natural item order deduced from an implementation of Comparator
         // OrderByClauseSortClosure implements a comparator and provides the exact desired behavior for local execution
         // as well
-        TreeMap<FlworKey, List<FlworTuple>> keyValuePairs = new TreeMap<>(
-                new FlworKeyComparator(this.expressionsWithIterator, getMetadata())
-        );
+        FlworKeyComparator comparator = new FlworKeyComparator(this.expressionsWithIterator, getMetadata());
+        TreeMap<FlworKey, List<FlworTuple>> keyValuePairs = new TreeMap<>(comparator);
+        int numberOfTuples = 0;
 
         // assign current context as parent. re-use the same context object for efficiency
         DynamicContext tupleContext = new DynamicContext(this.currentDynamicContext);
         while (this.child.hasNext()) {
             FlworTuple inputTuple = this.child.next();
-
-            List<Item> results = new ArrayList<>(); // results from the expressions will become a key
-            for (OrderByClauseAnnotatedChildIterator expressionWithIterator : this.expressionsWithIterator) {
-                tupleContext.getVariableValues().removeAllVariables(); // clear the previous variables
-                tupleContext.getVariableValues().setBindingsFromTuple(inputTuple, getMetadata()); // assign new
-                                                                                                  // variables from new
-                                                                                                  // tuple
-
-                RuntimeIterator iterator = expressionWithIterator.getIterator();
-                try {
-                    Item resultItem = iterator.materializeAtMostOneItemOrNull(tupleContext);
-                    if (resultItem != null && !resultItem.isAtomic()) {
-                        throw new UnexpectedTypeException(
-                                "Keys in an order-by clause must be atomics.",
-                                expressionWithIterator.getIterator().getMetadata()
-                        );
-                    }
-                    // possibly null for empty sequence.
-                    results.add(resultItem);
-                } catch (MoreThanOneItemException e) {
-                    throw new UnexpectedTypeException(
-                            "Keys in an order-by clause must be at most one item.",
-                            expressionWithIterator.getIterator().getMetadata()
-                    );
-                }
+            FlworKey key = computeKey(inputTuple, tupleContext);
+            if (
+                numberOfTuples == this.limit
+                    && comparator.compare(key, keyValuePairs.lastKey()) >= 0
+            ) {
+                // ties go after the tuples already kept, so this tuple would be dropped right away.
+                continue;
             }
-            FlworKey key = new FlworKey(results);
             List<FlworTuple> values = keyValuePairs.get(key); // all values for a single matching key are held in a list
             if (values == null) {
                 values = new ArrayList<>();
                 keyValuePairs.put(key, values);
             }
             values.add(inputTuple);
+            if (numberOfTuples == this.limit) {
+                // drop the last tuple kept so far.
+                List<FlworTuple> lastValues = keyValuePairs.lastEntry().getValue();
+                lastValues.remove(lastValues.size() - 1);
+                if (lastValues.isEmpty()) {
+                    keyValuePairs.pollLastEntry();
+                }
+            } else {
+                numberOfTuples++;
+            }
         }
         return keyValuePairs;
     }
 
+    /**
+     * Evaluates the ordering expressions on a tuple to atomics(error is thrown if not possible).
+     *
+     * @param inputTuple the tuple.
+     * @param tupleContext a context whose variables are replaced with those of the tuple.
+     * @return the sorting key of the tuple.
+     */
+    private FlworKey computeKey(FlworTuple inputTuple, DynamicContext tupleContext) {
+        List<Item> results = new ArrayList<>(); // results from the expressions will become a key
+        for (OrderByClauseAnnotatedChildIterator expressionWithIterator : this.expressionsWithIterator) {
+            tupleContext.getVariableValues().removeAllVariables(); // clear the previous variables
+            tupleContext.getVariableValues().setBindingsFromTuple(inputTuple, getMetadata()); // assign new
+                                                                                              // variables from new
+                                                                                              // tuple
+
+            RuntimeIterator iterator = expressionWithIterator.getIterator();
+            try {
+                Item resultItem = iterator.materializeAtMostOneItemOrNull(tupleContext);
+                if (resultItem != null && !resultItem.isAtomic()) {
+                    throw new UnexpectedTypeException(
+                            "Keys in an order-by clause must be atomics.",
+                            expressionWithIterator.getIterator().getMetadata()
+                    );
+                }
+                // possibly null for empty sequence.
+                results.add(resultItem);
+            } catch (MoreThanOneItemException e) {
+                throw new UnexpectedTypeException(
+                        "Keys in an order-by clause must be at most one item.",
+                        expressionWithIterator.getIterator().getMetadata()
+                );
+            }
+        }
+        return new FlworKey(results);
+    }
+
     @Override
     public FlworDataFrame getDataFrame(
             DynamicContext context
@@ -241,6 +299,7 @@ public class OrderByClauseSparkIterator extends RuntimeTupleIterator {
             nativeQueryResult = tryNativeQuery(
                 df,
                 this.expressionsWithIterator,
+                this.limit,
                 allColumns,
                 inputSchema,
                 context
@@ -453,12 +512,13 @@ public class OrderByClauseSparkIterator extends RuntimeTupleIterator {
                 df.sparkSession()
                     .sql(
                         String.format(
-                            "select %s from (select %s createOrderingColumns(%s) as `%s` from input order by %s)",
+                            "select %s from (select %s createOrderingColumns(%s) as `%s` from input order by %s%s)",
                             projectSQL,
                             selectSQL,
                             UDFParameters,
                             appendedOrderingColumnsName,
-                            orderingSQL
+                            orderingSQL,
+                            getLimitSQL(this.limit)
                         )
                     )
         );
@@ -522,6 +582,7 @@ public class OrderByClauseSparkIterator extends RuntimeTupleIterator {
      *
      * @param dataFrame input dataframe for the query
      * @param expressionsWithIterator list of ordering iterators
+     * @param limit the number of leading rows to keep, -1 for all rows
      * @param allColumns other columns required in following clauses
      * @param inputSchema input schema of the dataframe
      * @param context current dynamic context of the dataframe
@@ -530,6 +591,7 @@ public class OrderByClauseSparkIterator extends RuntimeTupleIterator {
     public static FlworDataFrame tryNativeQuery(
             Dataset<Row> dataFrame,
             List<OrderByClauseAnnotatedChildIterator> expressionsWithIterator,
+            int limit,
             List<FlworDataFrameColumn> allColumns,
             StructType inputSchema,
             DynamicContext context
@@ -584,14 +646,20 @@ public class OrderByClauseSparkIterator extends RuntimeTupleIterator {
                 dataFrame.sparkSession()
                     .sql(
                         String.format(
-                            "select %s from input order by %s",
+                            "select %s from input order by %s%s",
                             selectSQL,
-                            orderSql
+                            orderSql,
+                            getLimitSQL(limit)
                         )
                     )
         );
     }
 
+    // a limit right after the sort lets Spark plan a top-k (TakeOrderedAndProject) instead of a global sort.
+    private static String getLimitSQL(int limit) {
+        return limit == -1 ? "" : " limit " + limit;
+    }
+
     public boolean containsClause(FLWOR_CLAUSES kind) {
         if (kind == FLWOR_CLAUSES.ORDER_BY) {
             return true;
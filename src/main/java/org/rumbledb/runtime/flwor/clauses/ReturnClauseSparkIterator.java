@@ -24,12 +24,14 @@ import org.apache.log4j.LogManager;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
+import org.apache.spark.sql.types.DataType;
 import org.apache.spark.sql.types.StructType;
 import org.rumbledb.api.Item;
 import org.rumbledb.context.DynamicContext;
 import org.rumbledb.context.DynamicContext.VariableDependency;
 import org.rumbledb.context.Name;
 import org.rumbledb.context.RuntimeStaticContext;
+import org.rumbledb.exceptions.ExceptionMetadata;
 import org.rumbledb.exceptions.IteratorFlowException;
 import org.rumbledb.exceptions.JobWithinAJobException;
 import org.rumbledb.exceptions.OurBadException;
@@ -42,8 +44,15 @@ import org.rumbledb.runtime.flwor.FlworDataFrameColumn;
 import org.rumbledb.runtime.flwor.FlworDataFrameUtils;
 import org.rumbledb.runtime.flwor.NativeClauseContext;
 import org.rumbledb.runtime.flwor.closures.ReturnFlatMapClosure;
+import org.rumbledb.runtime.flwor.closures.ReturnUpdateClosure;
+import org.rumbledb.runtime.navigation.ObjectLookupIterator;
+import org.rumbledb.runtime.primary.StringRuntimeIterator;
+import org.rumbledb.runtime.primary.VariableReferenceIterator;
 import org.rumbledb.runtime.typing.ValidateTypeIterator;
+import org.rumbledb.runtime.update.DeltaColumnUpdate;
 import org.rumbledb.runtime.update.PendingUpdateList;
+import org.rumbledb.runtime.update.expression.ReplaceExpressionIterator;
+import org.rumbledb.types.SequenceType;
 
 import sparksoniq.jsoniq.tuple.FlworTuple;
 import sparksoniq.spark.SparkSessionManager;
@@ -52,6 +61,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -389,9 +399,22 @@ public class ReturnClauseSparkIterator extends HybridRuntimeIterator {
         if (!isUpdating()) {
             return new PendingUpdateList();
         }
+        if (this.child.isDataFrame() && getConfiguration().nativeExecution()) {
+            PendingUpdateList nativeResult = tryNativeDeltaUpdate(context);
+            if (nativeResult != null) {
+                return nativeResult;
+            }
+        }
         PendingUpdateList result = new PendingUpdateList();
 
         if (!this.expression.isRDDOrDataFrame()) {
+            if (this.child.isDataFrame() && !this.expression.isSparkJobNeeded()) {
+                PendingUpdateList parallelResult = getPendingUpdateListInParallel(context);
+                // Other targets are identified by object identity, which copies made on executors do not preserve.
+                if (parallelResult != null && parallelResult.targetsOnlyDeltaItems()) {
+                    return parallelResult;
+                }
+            }
             this.child.open(context);
             this.tupleContext = new DynamicContext(context); // assign current context
 
@@ -432,4 +455,182 @@ public class ReturnClauseSparkIterator extends HybridRuntimeIterator {
         }
         return result;
     }
+
+    /**
+     * Evaluates the updating expression on the executors, one pending update list per partition, and merges these
+     * lists with a tree reduction.
+     *
+     * @param context the dynamic context.
+     * @return the merged pending update list, or null if the tuples cannot be computed as a DataFrame.
+     */
+    private PendingUpdateList getPendingUpdateListInParallel(DynamicContext context) {
+        Dataset<Row> df;
+        try {
+            df = this.child.getDataFrame(context).getDataFrame();
+        } catch (JobWithinAJobException e) {
+            // Some clause needs a job of its own for each tuple, which only the local evaluation supports.
+            return null;
+        }
+        List<FlworDataFrameColumn> UDFcolumns = FlworDataFrameUtils.getColumns(
+            df.schema(),
+            this.expression.getVariableDependencies(),
+            new ArrayList<Name>(this.child.getOutputTupleVariableNames()),
+            null
+        );
+        ExceptionMetadata metadata = getMetadata();
+        JavaRDD<PendingUpdateList> puls = df.toJavaRDD()
+            .mapPartitions(new ReturnUpdateClosure(this.expression, context, UDFcolumns, metadata));
+        if (puls.getNumPartitions() == 0) {
+            return new PendingUpdateList();
+        }
+        return puls.treeReduce((pul1, pul2) -> {
+            pul1.mergeUpdates(pul2, metadata);
+            return pul1;
+        });
+    }
+
+    /**
+     * Recognizes a replace of a field of a for variable bound to Delta table rows (or of a nested object reached with
+     * literal lookups), with a replacement that can be computed natively, and turns it into a single column update
+     * over the tuple DataFrame. No target is materialized on the driver, and the update is committed with one MERGE
+     * instead of one UPDATE per row.
+     *
+     * @param context the dynamic context.
+     * @return the pending update list, or null if the update cannot be executed this way.
+     */
+    private PendingUpdateList tryNativeDeltaUpdate(DynamicContext context) {
+        if (!(this.expression instanceof ReplaceExpressionIterator)) {
+            return null;
+        }
+        ReplaceExpressionIterator replace = (ReplaceExpressionIterator) this.expression;
+        if (!(replace.getLocatorIterator() instanceof StringRuntimeIterator)) {
+            return null;
+        }
+        SequenceType replacerType = replace.getReplacerIterator().getStaticType();
+        // An empty replacement stands for null, which is also what native queries return for it.
+        if (
+            replacerType == null
+                || !replacerType.getArity().isSubtypeOf(SequenceType.Arity.OneOrZero)
+                || !replacerType.getItemType().isAtomicItemType()
+        ) {
+            return null;
+        }
+        String key = replace.getLocatorIterator().materializeFirstItemOrNull(context).getStringValue();
+
+        // The target must be the variable itself, or nested objects reached from it with literal keys.
+        List<String> targetPath = new ArrayList<>();
+        RuntimeIterator target = replace.getMainIterator();
+        while (target instanceof ObjectLookupIterator) {
+            RuntimeIterator lookupIterator = ((ObjectLookupIterator) target).getLookupIterator();
+            if (!(lookupIterator instanceof StringRuntimeIterator)) {
+                return null;
+            }
+            targetPath.add(0, lookupIterator.materializeFirstItemOrNull(context).getStringValue());
+            target = ((ObjectLookupIterator) target).getObjectIterator();
+        }
+        if (!(target instanceof VariableReferenceIterator)) {
+            return null;
+        }
+        String variableName = ((VariableReferenceIterator) target).getVariableName().toString();
+
+        Dataset<Row> df = this.child.getDataFrame(context).getDataFrame();
+        StructType inputSchema = df.schema();
+        if (!Arrays.asList(inputSchema.fieldNames()).contains(variableName)) {
+            return null;
+        }
+        DataType variableType = inputSchema.apply(variableName).dataType();
+        if (!(variableType instanceof StructType)) {
+            return null;
+        }
+        List<String> variableFields = Arrays.asList(((StructType) variableType).fieldNames());
+        if (
+            !variableFields.contains(SparkSessionManager.rowIdColumnName)
+                || !variableFields.contains(SparkSessionManager.pathInColumnName)
+                || !variableFields.contains(SparkSessionManager.tableLocationColumnName)
+                || !variableFields.contains(SparkSessionManager.mutabilityLevelColumnName)
+        ) {
+            return null;
+        }
+        StringBuilder targetColumn = new StringBuilder("`" + variableName + "`");
+        DataType targetType = variableType;
+        for (String field : targetPath) {
+            if (
+                !(targetType instanceof StructType)
+                    || !Arrays.asList(((StructType) targetType).fieldNames()).contains(field)
+            ) {
+                return null;
+            }
+            targetType = ((StructType) targetType).apply(field).dataType();
+            targetColumn.append(".`").append(field).append("`");
+        }
+        if (
+            !(targetType instanceof StructType)
+                || !Arrays.asList(((StructType) targetType).fieldNames()).contains(key)
+        ) {
+            return null;
+        }
+        NativeClauseContext replacerQuery = replace.getReplacerIterator()
+            .generateNativeQuery(new NativeClauseContext(FLWOR_CLAUSES.RETURN, inputSchema, context));
+        if (replacerQuery == NativeClauseContext.NoNativeQuery) {
+            return null;
+        }
+
+        // All targets must exist, be rows of the same table at the same path, be currently mutable, and be replaced
+        // once. Anything else is left to the item-based evaluation, which also raises the appropriate errors.
+        String input = FlworDataFrameUtils.createTempView(df);
+        Row summary = df.sparkSession()
+            .sql(
+                String.format(
+                    "SELECT count(*), count(DISTINCT `%1$s`.`%2$s`), count(%3$s), min(`%1$s`.`%4$s`), max(`%1$s`.`%4$s`), min(`%1$s`.`%5$s`), max(`%1$s`.`%5$s`), min(`%1$s`.`%6$s`), max(`%1$s`.`%6$s`) FROM %7$s",
+                    variableName,
+                    SparkSessionManager.rowIdColumnName,
+                    targetColumn,
+                    SparkSessionManager.tableLocationColumnName,
+                    SparkSessionManager.pathInColumnName,
+                    SparkSessionManager.mutabilityLevelColumnName,
+                    input
+                )
+            )
+            .head();
+        long count = summary.getLong(0);
+        if (count == 0) {
+            return new PendingUpdateList();
+        }
+        if (
+            summary.getLong(1) != count
+                || summary.getLong(2) != count
+                || !summary.getString(3).equals(summary.getString(4))
+                || summary.getString(3).equals("null")
+                || !summary.getString(5).equals(summary.getString(6))
+                || summary.getString(5).contains("[")
+                || summary.getInt(7) != summary.getInt(8)
+                || summary.getInt(7) != context.getCurrentMutabilityLevel()
+        ) {
+            return null;
+        }
+        String tempPathIn = summary.getString(5) + ".";
+        StringBuilder columnPath = new StringBuilder(tempPathIn.substring(tempPathIn.indexOf(".") + 1));
+        for (String field : targetPath) {
+            columnPath.append(field).append(".");
+        }
+        columnPath.append(key);
+
+        Dataset<Row> values = df.sparkSession()
+            .sql(
+                String.format(
+                    "SELECT `%s`.`%s` AS `%s`, %s AS `%s` FROM %s",
+                    variableName,
+                    SparkSessionManager.rowIdColumnName,
+                    SparkSessionManager.rowIdColumnName,
+                    replacerQuery.getResultingQuery(),
+                    DeltaColumnUpdate.valueColumnName,
+                    input
+                )
+            );
+        LogManager.getLogger("ReturnClauseSparkIterator")
+            .info("Rumble was able to turn an updating return clause into a native Delta column update.");
+        PendingUpdateList result = new PendingUpdateList();
+        result.addDeltaColumnUpdate(new DeltaColumnUpdate(summary.getString(3), columnPath.toString(), values));
+        return result;
+    }
 }
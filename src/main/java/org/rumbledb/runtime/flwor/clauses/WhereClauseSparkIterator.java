@@ -46,6 +46,7 @@ import org.rumbledb.runtime.primary.VariableReferenceIterator;
 import sparksoniq.jsoniq.tuple.FlworTuple;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -60,6 +61,7 @@ public class WhereClauseSparkIterator extends RuntimeTupleIterator {
     private RuntimeIterator expression;
     private DynamicContext tupleContext; // re-use same DynamicContext object for efficiency
     private FlworTuple nextLocalTupleResult;
+    private transient LocalHashJoin localHashJoin; // set if the child for clause is joined with a hash table
 
     public WhereClauseSparkIterator(
             RuntimeTupleIterator child,
@@ -75,7 +77,12 @@ public class WhereClauseSparkIterator extends RuntimeTupleIterator {
     public void open(DynamicContext context) {
         super.open(context);
         if (this.child != null) {
-            this.child.open(this.currentDynamicContext);
+            this.localHashJoin = getLocalHashJoinIfPossible();
+            if (this.localHashJoin != null) {
+                this.localHashJoin.open(this.currentDynamicContext);
+            } else {
+                this.child.open(this.currentDynamicContext);
+            }
             this.tupleContext = new DynamicContext(this.currentDynamicContext); // assign current context as parent
 
             setNextLocalTupleResult();
@@ -89,7 +96,12 @@ public class WhereClauseSparkIterator extends RuntimeTupleIterator {
     public void close() {
         super.close();
         if (this.child != null) {
-            this.child.close();
+            if (this.localHashJoin != null) {
+                this.localHashJoin.close();
+                this.localHashJoin = null;
+            } else {
+                this.child.close();
+            }
             this.tupleContext = null;
         } else {
             throw new OurBadException("Invalid where clause.");
@@ -100,7 +112,11 @@ public class WhereClauseSparkIterator extends RuntimeTupleIterator {
     public void reset(DynamicContext context) {
         super.reset(context);
         if (this.child != null) {
-            this.child.reset(this.currentDynamicContext);
+            if (this.localHashJoin != null) {
+                this.localHashJoin.reset(this.currentDynamicContext);
+            } else {
+                this.child.reset(this.currentDynamicContext);
+            }
             this.tupleContext = new DynamicContext(this.currentDynamicContext); // assign current context as parent
 
             setNextLocalTupleResult();
@@ -121,6 +137,15 @@ public class WhereClauseSparkIterator extends RuntimeTupleIterator {
     }
 
     private void setNextLocalTupleResult() {
+        if (this.localHashJoin != null) {
+            // the join already evaluates the expression on the tuples it outputs.
+            this.hasNext = this.localHashJoin.hasNext();
+            if (this.hasNext) {
+                this.nextLocalTupleResult = this.localHashJoin.next();
+            }
+            return;
+        }
+
         // for each incoming tuple, evaluate the expression to a boolean.
         // forward if true, drop if false
 
@@ -212,6 +237,55 @@ public class WhereClauseSparkIterator extends RuntimeTupleIterator {
         );
     }
 
+    /**
+     * Recognizes a for clause followed by this where clause with an equality predicate between the tuples of the for
+     * clause's child and the items of its sequence, when this sequence does not depend on the tuples. Such a for
+     * clause can be evaluated locally as a hash join instead of nested loops.
+     *
+     * @return the join, or null if the for clause cannot be evaluated as a hash join.
+     */
+    private LocalHashJoin getLocalHashJoinIfPossible() {
+        if (!(this.child instanceof ForClauseSparkIterator) || this.expression.isRDDOrDataFrame()) {
+            return null;
+        }
+        ForClauseSparkIterator forClause = (ForClauseSparkIterator) this.child;
+        RuntimeTupleIterator leftChild = forClause.getChildIterator();
+        RuntimeIterator assignmentIterator = forClause.getAssignmentIterator();
+        if (
+            leftChild == null
+                || forClause.getPositionalVariableName() != null
+                || forClause.isAllowingEmpty()
+                || assignmentIterator.isRDDOrDataFrame()
+                || !LetClauseSparkIterator.isExpressionIndependentFromInputTuple(assignmentIterator, leftChild)
+        ) {
+            return null;
+        }
+        List<RuntimeIterator> leftTupleSideEqualityCriteria = new ArrayList<>();
+        List<RuntimeIterator> rightTupleSideEqualityCriteria = new ArrayList<>();
+        if (
+            !JoinClauseSparkIterator.extractEqualityComparisonsForHashing(
+                this.expression,
+                leftTupleSideEqualityCriteria,
+                rightTupleSideEqualityCriteria,
+                new ArrayList<>(leftChild.getOutputTupleVariableNames()),
+                Collections.singletonList(forClause.getVariableName())
+            )
+        ) {
+            return null;
+        }
+        LogManager.getLogger("WhereClauseSparkIterator")
+            .info("Rumble detected a join predicate in the where clause and evaluates it locally with a hash join.");
+        return new LocalHashJoin(
+                leftChild,
+                forClause.getVariableName(),
+                assignmentIterator,
+                this.expression,
+                leftTupleSideEqualityCriteria,
+                rightTupleSideEqualityCriteria,
+                getMetadata()
+        );
+    }
+
     private FlworDataFrame getDataFrameIfLimit(DynamicContext context) {
         if (!(this.child instanceof CountClauseSparkIterator)) {
             return null;
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Authors: Stefan Irimescu, Can Berker Cikis
+ *
+ */
+
+package org.rumbledb.runtime.flwor.closures;
+
+import org.apache.spark.api.java.function.FlatMapFunction;
+import org.apache.spark.sql.Row;
+import org.rumbledb.context.DynamicContext;
+import org.rumbledb.exceptions.ExceptionMetadata;
+import org.rumbledb.exceptions.JobWithinAJobException;
+import org.rumbledb.runtime.RuntimeIterator;
+import org.rumbledb.runtime.flwor.FlworDataFrameColumn;
+import org.rumbledb.runtime.flwor.udfs.DataFrameContext;
+import org.rumbledb.runtime.update.PendingUpdateList;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Evaluates an updating return expression on all the tuples of a partition, and merges their pending update lists
+ * into one, so that the merging of large pending update lists happens on the executors.
+ */
+public class ReturnUpdateClosure implements FlatMapFunction<Iterator<Row>, PendingUpdateList> {
+
+    private static final long serialVersionUID = 1L;
+    private DataFrameContext dataFrameContext;
+    private RuntimeIterator expression;
+    private ExceptionMetadata metadata;
+
+    public ReturnUpdateClosure(
+            RuntimeIterator expression,
+            DynamicContext context,
+            List<FlworDataFrameColumn> columns,
+            ExceptionMetadata metadata
+    ) {
+        this.dataFrameContext = new DataFrameContext(context, columns);
+        this.expression = expression;
+        this.metadata = metadata;
+        if (this.expression.isSparkJobNeeded()) {
+            throw new JobWithinAJobException(
+                    "The expression in this clause requires parallel execution, but is itself executed in parallel. Please consider moving it up or unnest it if it is independent on previous FLWOR variables.",
+                    this.expression.getMetadata()
+            );
+        }
+    }
+
+    @Override
+    public Iterator<PendingUpdateList> call(Iterator<Row> rows) {
+        PendingUpdateList result = new PendingUpdateList();
+        while (rows.hasNext()) {
+            this.dataFrameContext.setFromRow(rows.next());
+            result.mergeUpdates(
+                this.expression.getPendingUpdateList(this.dataFrameContext.getContext()),
+                this.metadata
+            );
+        }
+        return Collections.singletonList(result).iterator();
+    }
+}
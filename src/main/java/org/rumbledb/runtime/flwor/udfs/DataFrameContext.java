@@ -28,6 +28,8 @@ import org.apache.spark.sql.Row;
 import org.apache.spark.sql.types.ArrayType;
 import org.apache.spark.sql.types.DataType;
 import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.StructField;
+import org.apache.spark.sql.types.StructType;
 import org.rumbledb.api.Item;
 import org.rumbledb.context.DynamicContext;
 import org.rumbledb.exceptions.ExceptionMetadata;
@@ -41,6 +43,7 @@ import org.rumbledb.types.ItemType;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -62,6 +65,12 @@ public class DataFrameContext implements Serializable {
     private transient Output output;
     private transient Input input;
 
+    // The positions and types of the columns in the rows, resolved once for the schema of the rows.
+    private transient StructType schema;
+    private transient int[] columnIndices;
+    private transient DataType[] columnTypes;
+    private transient boolean[] nativeSequenceArrays;
+
     /**
      * Builds a new data frame context that only serves to pool Kryo objects.
      * The only allowed methods are getKryo, getInput and getOutput.
@@ -114,10 +123,14 @@ public class DataFrameContext implements Serializable {
      */
     public void setFromRow(Row row, ItemType itemType) {
         this.context.getVariableValues().removeAllVariables();
+        if (row.schema() != this.schema) {
+            resolveColumns(row.schema());
+        }
 
         // Create dynamic context with deserialized data but only with dependencies
-        for (FlworDataFrameColumn column : this.columns) {
-            int columnIndex = row.fieldIndex(column.getColumnName());
+        for (int c = 0; c < this.columns.size(); c++) {
+            FlworDataFrameColumn column = this.columns.get(c);
+            int columnIndex = this.columnIndices[c];
             if (column.isNativeSequence()) {
                 List<Item> i = readColumnAsSequenceOfItems(row, itemType, columnIndex);
                 this.context.getVariableValues()
@@ -125,8 +138,21 @@ public class DataFrameContext implements Serializable {
                         column.getVariableName(),
                         i
                     );
-            }
-            if (!column.isCount()) {
+            } else if (column.isSum() || column.isMin() || column.isMax()) {
+                this.context.getVariableValues()
+                    .addVariableAggregate(
+                        column.getVariableName(),
+                        getAggregateDependency(column),
+                        readColumnAsSequenceOfItems(row, null, columnIndex)
+                    );
+            } else if (column.isAverage()) {
+                this.context.getVariableValues()
+                    .addVariableAggregate(
+                        column.getVariableName(),
+                        DynamicContext.VariableDependency.AVERAGE,
+                        readSumAndCount(row, columnIndex)
+                    );
+            } else if (!column.isCount()) {
                 List<Item> i = readColumnAsSequenceOfItems(row, itemType, columnIndex);
                 this.context.getVariableValues()
                     .addVariableValue(
@@ -145,6 +171,54 @@ public class DataFrameContext implements Serializable {
         }
     }
 
+    /**
+     * Resolves the positions and types of the columns once for all rows with the same schema, rather than for every
+     * row.
+     *
+     * @param schema the schema of the rows.
+     */
+    private void resolveColumns(StructType schema) {
+        this.schema = schema;
+        StructField[] fields = schema.fields();
+        this.columnIndices = new int[this.columns.size()];
+        this.columnTypes = new DataType[fields.length];
+        this.nativeSequenceArrays = new boolean[fields.length];
+        for (int c = 0; c < this.columns.size(); c++) {
+            this.columnIndices[c] = schema.fieldIndex(this.columns.get(c).getColumnName());
+        }
+        for (int i = 0; i < fields.length; i++) {
+            this.columnTypes[i] = fields[i].dataType();
+            this.nativeSequenceArrays[i] = this.columnTypes[i] instanceof ArrayType
+                && new FlworDataFrameColumn(fields[i].name(), schema).isNativeSequence();
+        }
+    }
+
+    private static DynamicContext.VariableDependency getAggregateDependency(FlworDataFrameColumn column) {
+        if (column.isSum()) {
+            return DynamicContext.VariableDependency.SUM;
+        }
+        if (column.isMin()) {
+            return DynamicContext.VariableDependency.MIN;
+        }
+        return DynamicContext.VariableDependency.MAX;
+    }
+
+    private static List<Item> readSumAndCount(Row row, int columnIndex) {
+        Row sumAndCount = row.getStruct(columnIndex);
+        long count = sumAndCount.getLong(1);
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        StructType dt = (StructType) row.schema().fields()[columnIndex].dataType();
+        Item sum = ItemParser.convertValueToItem(
+            sumAndCount.get(0),
+            dt.fields()[0].dataType(),
+            ExceptionMetadata.EMPTY_METADATA,
+            null
+        );
+        return Arrays.asList(sum, ItemFactory.getInstance().createLongItem(count));
+    }
+
     /**
      * Gets the currently populated dynamic context. It is a child of the context passed to the constructor,
      * populated with the current input tuple with one of the two set* functions.
@@ -197,7 +271,7 @@ public class DataFrameContext implements Serializable {
     @SuppressWarnings("unchecked")
     private List<Item> readColumnAsSequenceOfItems(Row row, ItemType itemType, int columnIndex) {
         Object o = row.get(columnIndex);
-        DataType dt = row.schema().fields()[columnIndex].dataType();
+        DataType dt = this.columnTypes[columnIndex];
         // There are three special cases:
         // - NULL: this is an empty sequence
         // - A binary value: this is a serialized sequence
@@ -232,12 +306,7 @@ public class DataFrameContext implements Serializable {
                 }
                 return items;
             }
-            FlworDataFrameColumn dfColumn = new FlworDataFrameColumn(
-                    row.schema().fields()[columnIndex].name(),
-                    row.schema()
-            );
-
-            if (dfColumn.isNativeSequence()) {
+            if (this.nativeSequenceArrays[columnIndex]) {
                 List<Object> objects = row.getList(columnIndex);
                 List<Item> items = new ArrayList<>();
                 for (Object object : objects) {
@@ -6,6 +6,9 @@ import org.rumbledb.context.RuntimeStaticContext;
 import org.rumbledb.items.ItemFactory;
 import org.rumbledb.runtime.AtMostOneItemLocalRuntimeIterator;
 import org.rumbledb.runtime.RuntimeIterator;
+import org.rumbledb.runtime.flwor.NativeClauseContext;
+import org.rumbledb.types.SequenceType;
+import org.rumbledb.types.BuiltinTypesCatalogue;
 
 import java.util.List;
 
@@ -30,4 +33,17 @@ public class MonthFromDateFunctionIterator extends AtMostOneItemLocalRuntimeIter
         return ItemFactory.getInstance().createIntItem(this.dateItem.getDateTimeValue().getMonthOfYear());
     }
 
+    @Override
+    public NativeClauseContext generateNativeQuery(NativeClauseContext nativeClauseContext) {
+        NativeClauseContext value = this.children.get(0).generateNativeQuery(nativeClauseContext);
+        if (
+            value == NativeClauseContext.NoNativeQuery
+                || !value.getResultingType().getArity().equals(SequenceType.Arity.One)
+                || !value.getResultingType().getItemType().equals(BuiltinTypesCatalogue.dateItem)
+        ) {
+            return NativeClauseContext.NoNativeQuery;
+        }
+        String resultingQuery = "( MONTH( " + value.getResultingQuery() + " ) )";
+        return new NativeClauseContext(nativeClauseContext, resultingQuery, SequenceType.INTEGER);
+    }
 }
@@ -11,6 +11,7 @@ import org.rumbledb.runtime.RuntimeIterator;
 import sparksoniq.spark.SparkSessionManager;
 
 import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.apache.spark.sql.functions.lit;
@@ -37,29 +38,40 @@ public class DeltaFileFunctionIterator extends DataFrameRuntimeIterator {
         if (!FileSystemUtil.exists(uri, context.getRumbleRuntimeConfiguration(), getMetadata())) {
             throw new CannotRetrieveResourceException("File " + uri + " not found.", getMetadata());
         }
-        // DeltaTable deltaTable = DeltaTable.forPath(SparkSessionManager.getInstance().getOrCreateSession(),
-        // uri.toString());
-        SparkSessionManager.getInstance()
-            .getOrCreateSession()
-            .read()
-            .format("delta")
-            .load(uri.toString())
-            .withColumn(SparkSessionManager.rowIdColumnName, monotonically_increasing_id())
-            .write()
-            .format("delta")
-            .mode("overwrite")
-            .option("overwriteSchema", true)
-            .save(uri.toString());
         Dataset<Row> dataFrame = SparkSessionManager.getInstance()
             .getOrCreateSession()
             .read()
             .format("delta")
             .load(uri.toString());
+        if (!Arrays.asList(dataFrame.columns()).contains(SparkSessionManager.rowIdColumnName)) {
+            // First time this table is seen: persist stable row identities once, later reads are pure scans.
+            addRowIDColumn(dataFrame)
+                .write()
+                .format("delta")
+                .mode("overwrite")
+                .option("overwriteSchema", true)
+                .save(uri.toString());
+            dataFrame = SparkSessionManager.getInstance()
+                .getOrCreateSession()
+                .read()
+                .format("delta")
+                .load(uri.toString());
+        }
         dataFrame = dataFrame.withColumn(SparkSessionManager.mutabilityLevelColumnName, lit(0));
-        dataFrame = dataFrame.withColumn(SparkSessionManager.rowIdColumnName, monotonically_increasing_id());
         dataFrame = dataFrame.withColumn(SparkSessionManager.pathInColumnName, lit(""));
         dataFrame = dataFrame.withColumn(SparkSessionManager.tableLocationColumnName, lit(uri.toString()));
         // TODO: Make unique DeltaTable code
         return new JSoundDataFrame(dataFrame);
     }
+
+    /**
+     * Assigns a fresh, unique row identity to every row of a DataFrame that is about to be written as a Delta table.
+     * This must only happen when the table is created or first registered, as updates address rows by this ID.
+     *
+     * @param dataFrame the DataFrame to write.
+     * @return the DataFrame with the row ID column set.
+     */
+    public static Dataset<Row> addRowIDColumn(Dataset<Row> dataFrame) {
+        return dataFrame.withColumn(SparkSessionManager.rowIdColumnName, monotonically_increasing_id());
+    }
 }
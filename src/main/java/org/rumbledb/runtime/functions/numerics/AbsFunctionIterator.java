@@ -27,6 +27,8 @@ import org.rumbledb.exceptions.OurBadException;
 import org.rumbledb.items.ItemFactory;
 import org.rumbledb.runtime.AtMostOneItemLocalRuntimeIterator;
 import org.rumbledb.runtime.RuntimeIterator;
+import org.rumbledb.runtime.flwor.NativeClauseContext;
+import org.rumbledb.types.SequenceType;
 
 import java.util.List;
 
@@ -67,4 +69,18 @@ public class AbsFunctionIterator extends AtMostOneItemLocalRuntimeIterator {
         }
         throw new OurBadException("Numeric value expected in abs()");
     }
+
+    @Override
+    public NativeClauseContext generateNativeQuery(NativeClauseContext nativeClauseContext) {
+        NativeClauseContext value = this.children.get(0).generateNativeQuery(nativeClauseContext);
+        if (
+            value == NativeClauseContext.NoNativeQuery
+                || !value.getResultingType().getArity().equals(SequenceType.Arity.One)
+                || !value.getResultingType().getItemType().isNumeric()
+        ) {
+            return NativeClauseContext.NoNativeQuery;
+        }
+        String resultingQuery = "( ABS( " + value.getResultingQuery() + " ) )";
+        return new NativeClauseContext(nativeClauseContext, resultingQuery, value.getResultingType());
+    }
 }
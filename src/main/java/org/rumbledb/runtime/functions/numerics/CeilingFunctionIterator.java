@@ -27,6 +27,8 @@ import org.rumbledb.exceptions.UnexpectedTypeException;
 import org.rumbledb.items.ItemFactory;
 import org.rumbledb.runtime.AtMostOneItemLocalRuntimeIterator;
 import org.rumbledb.runtime.RuntimeIterator;
+import org.rumbledb.runtime.flwor.NativeClauseContext;
+import org.rumbledb.types.SequenceType;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -96,5 +98,34 @@ public class CeilingFunctionIterator extends AtMostOneItemLocalRuntimeIterator {
 
     }
 
-
+    @Override
+    public NativeClauseContext generateNativeQuery(NativeClauseContext nativeClauseContext) {
+        NativeClauseContext value = this.children.get(0).generateNativeQuery(nativeClauseContext);
+        if (value == NativeClauseContext.NoNativeQuery) {
+            return NativeClauseContext.NoNativeQuery;
+        }
+        if (
+            value.getResultingType().equals(SequenceType.INTEGER) || value.getResultingType().equals(SequenceType.INT)
+        ) {
+            return value;
+        }
+        if (value.getResultingType().equals(SequenceType.DECIMAL)) {
+            String resultingQuery = "( CAST (CEIL( " + value.getResultingQuery() + " ) AS DECIMAL(38, 19)) )";
+            return new NativeClauseContext(nativeClauseContext, resultingQuery, SequenceType.DECIMAL);
+        }
+        if (value.getResultingType().equals(SequenceType.DOUBLE)) {
+            // Spark returns a bigint: NaN, infinities and doubles too large to have a fraction are kept as they are.
+            String resultingQuery = "( CASE WHEN ISNAN( "
+                + value.getResultingQuery()
+                + " ) OR ABS( "
+                + value.getResultingQuery()
+                + " ) >= 4503599627370496 THEN "
+                + value.getResultingQuery()
+                + " ELSE CAST (CEIL( "
+                + value.getResultingQuery()
+                + " ) AS DOUBLE) END )";
+            return new NativeClauseContext(nativeClauseContext, resultingQuery, SequenceType.DOUBLE);
+        }
+        return NativeClauseContext.NoNativeQuery;
+    }
 }
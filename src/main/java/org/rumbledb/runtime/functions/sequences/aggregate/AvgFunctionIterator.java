@@ -51,6 +51,26 @@ public class AvgFunctionIterator extends AtMostOneItemLocalRuntimeIterator {
 
     @Override
     public Item materializeFirstItemOrNull(DynamicContext context) {
+        // the avg($x) case is treated separately because the sum and count may
+        // have been computed ahead of time, e.g., natively by the group-by
+        // aggregation of a non-grouping key.
+        if (this.children.get(0) instanceof VariableReferenceIterator) {
+            VariableReferenceIterator expr = (VariableReferenceIterator) this.children.get(0);
+            List<Item> sumAndCount = context.getVariableValues()
+                .getVariableAggregate(expr.getVariableName(), DynamicContext.VariableDependency.AVERAGE);
+            if (sumAndCount != null) {
+                if (sumAndCount.isEmpty()) {
+                    return null;
+                }
+                this.item = MultiplicativeOperationIterator.processItem(
+                    sumAndCount.get(0),
+                    sumAndCount.get(1),
+                    MultiplicativeExpression.MultiplicativeOperator.DIV,
+                    getMetadata()
+                );
+                return this.item;
+            }
+        }
         Item count = CountFunctionIterator.computeCount(
             this.children.get(0),
             context,
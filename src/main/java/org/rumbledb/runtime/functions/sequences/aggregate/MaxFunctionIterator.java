@@ -94,6 +94,17 @@ public class MaxFunctionIterator extends AtMostOneItemLocalRuntimeIterator {
                 throw new UnsupportedCollationException("Wrong collation parameter", getMetadata());
             }
         }
+        // the max($x) case is treated separately because the maximum may have been
+        // computed ahead of time, e.g., natively by the group-by aggregation of
+        // a non-grouping key.
+        if (this.iterator instanceof VariableReferenceIterator) {
+            VariableReferenceIterator expr = (VariableReferenceIterator) this.iterator;
+            List<Item> max = context.getVariableValues()
+                .getVariableAggregate(expr.getVariableName(), DynamicContext.VariableDependency.MAX);
+            if (max != null) {
+                return max.isEmpty() ? null : max.get(0);
+            }
+        }
         this.currentMinIsNullItem = false;
         this.currentMaxDouble = 0;
         this.currentMaxFloat = 0;
@@ -510,6 +521,9 @@ public class MaxFunctionIterator extends AtMostOneItemLocalRuntimeIterator {
             Map<Name, DynamicContext.VariableDependency> result =
                 new TreeMap<Name, DynamicContext.VariableDependency>();
             result.put(expr.getVariableName(), DynamicContext.VariableDependency.MAX);
+            if (this.children.size() > 1) {
+                DynamicContext.mergeVariableDependencies(result, this.children.get(1).getVariableDependencies());
+            }
             return result;
         } else {
             return super.getVariableDependencies();
@@ -93,6 +93,17 @@ public class MinFunctionIterator extends AtMostOneItemLocalRuntimeIterator {
                 throw new UnsupportedCollationException("Wrong collation parameter", getMetadata());
             }
         }
+        // the min($x) case is treated separately because the minimum may have been
+        // computed ahead of time, e.g., natively by the group-by aggregation of
+        // a non-grouping key.
+        if (this.iterator instanceof VariableReferenceIterator) {
+            VariableReferenceIterator expr = (VariableReferenceIterator) this.iterator;
+            List<Item> min = context.getVariableValues()
+                .getVariableAggregate(expr.getVariableName(), DynamicContext.VariableDependency.MIN);
+            if (min != null) {
+                return min.isEmpty() ? null : min.get(0);
+            }
+        }
         this.currentMinDouble = 0;
         this.currentMinFloat = 0;
         this.currentMinDecimal = null;
@@ -491,6 +502,9 @@ public class MinFunctionIterator extends AtMostOneItemLocalRuntimeIterator {
             Map<Name, DynamicContext.VariableDependency> result =
                 new TreeMap<Name, DynamicContext.VariableDependency>();
             result.put(expr.getVariableName(), DynamicContext.VariableDependency.MIN);
+            if (this.children.size() > 1) {
+                DynamicContext.mergeVariableDependencies(result, this.children.get(1).getVariableDependencies());
+            }
             return result;
         } else {
             return super.getVariableDependencies();
@@ -34,6 +34,7 @@ import org.rumbledb.runtime.RuntimeIterator;
 import org.rumbledb.runtime.arithmetics.AdditiveOperationIterator;
 import org.rumbledb.runtime.flwor.FlworDataFrameUtils;
 import org.rumbledb.runtime.primary.VariableReferenceIterator;
+import org.rumbledb.runtime.typing.TypePromotionIterator;
 
 import sparksoniq.spark.SparkSessionManager;
 
@@ -57,6 +58,17 @@ public class SumFunctionIterator extends AtMostOneItemLocalRuntimeIterator {
 
     @Override
     public Item materializeFirstItemOrNull(DynamicContext context) {
+        // the sum($x) case is treated separately because the sum may have been
+        // computed ahead of time, e.g., natively by the group-by aggregation of
+        // a non-grouping key.
+        VariableReferenceIterator expr = getSummedVariable();
+        if (expr != null) {
+            List<Item> sum = context.getVariableValues()
+                .getVariableAggregate(expr.getVariableName(), DynamicContext.VariableDependency.SUM);
+            if (sum != null) {
+                return sum.isEmpty() ? zeroElement(context) : sum.get(0);
+            }
+        }
         this.item = computeSum(
             zeroElement(context),
             this.children.get(0),
@@ -169,12 +181,30 @@ public class SumFunctionIterator extends AtMostOneItemLocalRuntimeIterator {
         return summedDF.getExactlyOneItem();
     }
 
+    /**
+     * @return the variable if the argument is a variable reference, null otherwise.
+     */
+    private VariableReferenceIterator getSummedVariable() {
+        RuntimeIterator argument = this.children.get(0);
+        // The argument is checked to be atomic, which leaves atomic items as they are.
+        if (argument instanceof TypePromotionIterator) {
+            argument = ((TypePromotionIterator) argument).getIterator();
+        }
+        if (argument instanceof VariableReferenceIterator) {
+            return (VariableReferenceIterator) argument;
+        }
+        return null;
+    }
+
     public Map<Name, DynamicContext.VariableDependency> getVariableDependencies() {
-        if (this.children.get(0) instanceof VariableReferenceIterator) {
-            VariableReferenceIterator expr = (VariableReferenceIterator) this.children.get(0);
+        VariableReferenceIterator expr = getSummedVariable();
+        if (expr != null) {
             Map<Name, DynamicContext.VariableDependency> result =
                 new TreeMap<Name, DynamicContext.VariableDependency>();
             result.put(expr.getVariableName(), DynamicContext.VariableDependency.SUM);
+            if (this.children.size() > 1) {
+                DynamicContext.mergeVariableDependencies(result, this.children.get(1).getVariableDependencies());
+            }
             return result;
         } else {
             return super.getVariableDependencies();
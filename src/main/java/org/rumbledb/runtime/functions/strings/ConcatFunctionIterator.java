@@ -26,7 +26,11 @@ import org.rumbledb.context.RuntimeStaticContext;
 import org.rumbledb.items.ItemFactory;
 import org.rumbledb.runtime.AtMostOneItemLocalRuntimeIterator;
 import org.rumbledb.runtime.RuntimeIterator;
+import org.rumbledb.runtime.flwor.NativeClauseContext;
+import org.rumbledb.runtime.typing.TypePromotionIterator;
+import org.rumbledb.types.SequenceType;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class ConcatFunctionIterator extends AtMostOneItemLocalRuntimeIterator {
@@ -56,4 +60,21 @@ public class ConcatFunctionIterator extends AtMostOneItemLocalRuntimeIterator {
         return ItemFactory.getInstance().createStringItem(builder.toString());
     }
 
+    @Override
+    public NativeClauseContext generateNativeQuery(NativeClauseContext nativeClauseContext) {
+        List<String> values = new ArrayList<>();
+        for (RuntimeIterator iterator : this.children) {
+            // Arguments are promoted to atomic*, which a single string satisfies.
+            if (iterator instanceof TypePromotionIterator) {
+                iterator = ((TypePromotionIterator) iterator).getIterator();
+            }
+            NativeClauseContext value = iterator.generateNativeQuery(nativeClauseContext);
+            if (value == NativeClauseContext.NoNativeQuery || !value.getResultingType().equals(SequenceType.STRING)) {
+                return NativeClauseContext.NoNativeQuery;
+            }
+            values.add(value.getResultingQuery());
+        }
+        String resultingQuery = "( CONCAT( " + String.join(", ", values) + " ) )";
+        return new NativeClauseContext(nativeClauseContext, resultingQuery, SequenceType.STRING);
+    }
 }
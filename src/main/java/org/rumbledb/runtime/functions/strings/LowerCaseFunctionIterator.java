@@ -26,6 +26,8 @@ import org.rumbledb.context.RuntimeStaticContext;
 import org.rumbledb.items.ItemFactory;
 import org.rumbledb.runtime.AtMostOneItemLocalRuntimeIterator;
 import org.rumbledb.runtime.RuntimeIterator;
+import org.rumbledb.runtime.flwor.NativeClauseContext;
+import org.rumbledb.types.SequenceType;
 
 import java.util.List;
 
@@ -53,4 +55,16 @@ public class LowerCaseFunctionIterator extends AtMostOneItemLocalRuntimeIterator
 
     }
 
+    @Override
+    public NativeClauseContext generateNativeQuery(NativeClauseContext nativeClauseContext) {
+        if (this.children.size() != 1) {
+            return NativeClauseContext.NoNativeQuery;
+        }
+        NativeClauseContext value = this.children.get(0).generateNativeQuery(nativeClauseContext);
+        if (value == NativeClauseContext.NoNativeQuery || !value.getResultingType().equals(SequenceType.STRING)) {
+            return NativeClauseContext.NoNativeQuery;
+        }
+        String resultingQuery = "( LOWER( " + value.getResultingQuery() + " ) )";
+        return new NativeClauseContext(nativeClauseContext, resultingQuery, SequenceType.STRING);
+    }
 }
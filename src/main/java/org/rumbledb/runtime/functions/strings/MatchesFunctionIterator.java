@@ -26,6 +26,8 @@ import org.rumbledb.context.RuntimeStaticContext;
 import org.rumbledb.items.ItemFactory;
 import org.rumbledb.runtime.AtMostOneItemLocalRuntimeIterator;
 import org.rumbledb.runtime.RuntimeIterator;
+import org.rumbledb.runtime.flwor.NativeClauseContext;
+import org.rumbledb.types.SequenceType;
 
 import java.util.List;
 import java.util.regex.Matcher;
@@ -57,4 +59,31 @@ public class MatchesFunctionIterator extends AtMostOneItemLocalRuntimeIterator {
         return ItemFactory.getInstance().createBooleanItem(result);
 
     }
+
+    @Override
+    public NativeClauseContext generateNativeQuery(NativeClauseContext nativeClauseContext) {
+        if (this.children.size() != 2) {
+            return NativeClauseContext.NoNativeQuery;
+        }
+        NativeClauseContext stringValue = this.children.get(0).generateNativeQuery(nativeClauseContext);
+        if (
+            stringValue == NativeClauseContext.NoNativeQuery
+                || !stringValue.getResultingType().equals(SequenceType.STRING)
+        ) {
+            return NativeClauseContext.NoNativeQuery;
+        }
+        NativeClauseContext patternValue = this.children.get(1).generateNativeQuery(nativeClauseContext);
+        if (
+            patternValue == NativeClauseContext.NoNativeQuery
+                || !patternValue.getResultingType().equals(SequenceType.STRING)
+        ) {
+            return NativeClauseContext.NoNativeQuery;
+        }
+        String resultingQuery = "( "
+            + stringValue.getResultingQuery()
+            + " RLIKE "
+            + patternValue.getResultingQuery()
+            + " )";
+        return new NativeClauseContext(nativeClauseContext, resultingQuery, SequenceType.BOOLEAN);
+    }
 }
@@ -27,6 +27,8 @@ import org.rumbledb.exceptions.UnsupportedCollationException;
 import org.rumbledb.items.ItemFactory;
 import org.rumbledb.runtime.AtMostOneItemLocalRuntimeIterator;
 import org.rumbledb.runtime.RuntimeIterator;
+import org.rumbledb.runtime.flwor.NativeClauseContext;
+import org.rumbledb.types.SequenceType;
 
 import java.util.List;
 
@@ -67,4 +69,30 @@ public class StartsWithFunctionIterator extends AtMostOneItemLocalRuntimeIterato
         return ItemFactory.getInstance().createBooleanItem(result);
     }
 
+    @Override
+    public NativeClauseContext generateNativeQuery(NativeClauseContext nativeClauseContext) {
+        if (this.children.size() != 2) {
+            return NativeClauseContext.NoNativeQuery;
+        }
+        NativeClauseContext stringValue = this.children.get(0).generateNativeQuery(nativeClauseContext);
+        if (
+            stringValue == NativeClauseContext.NoNativeQuery
+                || !stringValue.getResultingType().equals(SequenceType.STRING)
+        ) {
+            return NativeClauseContext.NoNativeQuery;
+        }
+        NativeClauseContext substringValue = this.children.get(1).generateNativeQuery(nativeClauseContext);
+        if (
+            substringValue == NativeClauseContext.NoNativeQuery
+                || !substringValue.getResultingType().equals(SequenceType.STRING)
+        ) {
+            return NativeClauseContext.NoNativeQuery;
+        }
+        String resultingQuery = "( STARTSWITH( "
+            + stringValue.getResultingQuery()
+            + ", "
+            + substringValue.getResultingQuery()
+            + " ) )";
+        return new NativeClauseContext(nativeClauseContext, resultingQuery, SequenceType.BOOLEAN);
+    }
 }
@@ -27,6 +27,8 @@ import org.rumbledb.context.RuntimeStaticContext;
 import org.rumbledb.items.ItemFactory;
 import org.rumbledb.runtime.AtMostOneItemLocalRuntimeIterator;
 import org.rumbledb.runtime.RuntimeIterator;
+import org.rumbledb.runtime.flwor.NativeClauseContext;
+import org.rumbledb.types.SequenceType;
 
 import java.util.List;
 
@@ -45,7 +47,7 @@ public class StringLengthFunctionIterator extends AtMostOneItemLocalRuntimeItera
     public Item materializeFirstItemOrNull(DynamicContext context) {
         if (this.children.size() == 0) {
             List<Item> items = context.getVariableValues().getLocalVariableValue(Name.CONTEXT_ITEM, getMetadata());
-            return ItemFactory.getInstance().createIntItem(items.get(0).getStringValue().length());
+            return ItemFactory.getInstance().createIntItem(codepointLength(items.get(0).getStringValue()));
         }
         Item stringItem = this.children.get(0)
             .materializeFirstItemOrNull(context);
@@ -54,7 +56,24 @@ public class StringLengthFunctionIterator extends AtMostOneItemLocalRuntimeItera
             return ItemFactory.getInstance().createIntItem(0);
         }
 
-        return ItemFactory.getInstance().createIntItem(stringItem.getStringValue().length());
+        return ItemFactory.getInstance().createIntItem(codepointLength(stringItem.getStringValue()));
     }
 
+    // The length in characters, like the Spark SQL length function, and not in UTF-16 code units.
+    private static int codepointLength(String value) {
+        return value.codePointCount(0, value.length());
+    }
+
+    @Override
+    public NativeClauseContext generateNativeQuery(NativeClauseContext nativeClauseContext) {
+        if (this.children.size() != 1) {
+            return NativeClauseContext.NoNativeQuery;
+        }
+        NativeClauseContext value = this.children.get(0).generateNativeQuery(nativeClauseContext);
+        if (value == NativeClauseContext.NoNativeQuery || !value.getResultingType().equals(SequenceType.STRING)) {
+            return NativeClauseContext.NoNativeQuery;
+        }
+        String resultingQuery = "( LENGTH( " + value.getResultingQuery() + " ) )";
+        return new NativeClauseContext(nativeClauseContext, resultingQuery, SequenceType.INTEGER);
+    }
 }
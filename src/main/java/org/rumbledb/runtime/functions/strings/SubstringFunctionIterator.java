@@ -27,6 +27,9 @@ import org.rumbledb.exceptions.UnexpectedTypeException;
 import org.rumbledb.items.ItemFactory;
 import org.rumbledb.runtime.AtMostOneItemLocalRuntimeIterator;
 import org.rumbledb.runtime.RuntimeIterator;
+import org.rumbledb.runtime.flwor.NativeClauseContext;
+import org.rumbledb.types.SequenceType;
+import org.rumbledb.runtime.typing.AtMostOneItemTypePromotionIterator;
 
 import java.util.List;
 
@@ -90,4 +93,64 @@ public class SubstringFunctionIterator extends AtMostOneItemLocalRuntimeIterator
         // char indexing starts from 1 in JSONiq
         return Math.min(stringItem.getStringValue().length(), startIndex + endIndexItem.getDoubleValue());
     }
+
+    @Override
+    public NativeClauseContext generateNativeQuery(NativeClauseContext nativeClauseContext) {
+        NativeClauseContext stringValue = this.children.get(0).generateNativeQuery(nativeClauseContext);
+        if (
+            stringValue == NativeClauseContext.NoNativeQuery
+                || !stringValue.getResultingType().equals(SequenceType.STRING)
+        ) {
+            return NativeClauseContext.NoNativeQuery;
+        }
+        NativeClauseContext startValue = generateNativePositionQuery(this.children.get(1), nativeClauseContext);
+        if (startValue == NativeClauseContext.NoNativeQuery) {
+            return NativeClauseContext.NoNativeQuery;
+        }
+        // Spark counts non-positive positions from the end of the string.
+        String start = "GREATEST( " + startValue.getResultingQuery() + ", 1 )";
+        String resultingQuery;
+        if (this.children.size() == 2) {
+            resultingQuery = "( SUBSTRING( " + stringValue.getResultingQuery() + ", " + start + " ) )";
+        } else {
+            NativeClauseContext lengthValue = generateNativePositionQuery(this.children.get(2), nativeClauseContext);
+            if (lengthValue == NativeClauseContext.NoNativeQuery) {
+                return NativeClauseContext.NoNativeQuery;
+            }
+            resultingQuery = "( SUBSTRING( "
+                + stringValue.getResultingQuery()
+                + ", "
+                + start
+                + ", "
+                + startValue.getResultingQuery()
+                + " + "
+                + lengthValue.getResultingQuery()
+                + " - "
+                + start
+                + " ) )";
+        }
+        return new NativeClauseContext(nativeClauseContext, resultingQuery, SequenceType.STRING);
+    }
+
+    /**
+     * Positions and lengths are doubles, which are rounded. Only integers, as they are before their promotion to
+     * double, are translated, so that no rounding is needed.
+     */
+    private static NativeClauseContext generateNativePositionQuery(
+            RuntimeIterator iterator,
+            NativeClauseContext nativeClauseContext
+    ) {
+        if (iterator instanceof AtMostOneItemTypePromotionIterator) {
+            iterator = ((AtMostOneItemTypePromotionIterator) iterator).getIterator();
+        }
+        NativeClauseContext value = iterator.generateNativeQuery(nativeClauseContext);
+        if (
+            value == NativeClauseContext.NoNativeQuery
+                || !(value.getResultingType().equals(SequenceType.INTEGER)
+                    || value.getResultingType().equals(SequenceType.INT))
+        ) {
+            return NativeClauseContext.NoNativeQuery;
+        }
+        return value;
+    }
 }
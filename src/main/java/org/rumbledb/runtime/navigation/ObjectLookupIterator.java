@@ -80,6 +80,14 @@ public class ObjectLookupIterator extends HybridRuntimeIterator {
         this.iterator = object;
     }
 
+    public RuntimeIterator getObjectIterator() {
+        return this.iterator;
+    }
+
+    public RuntimeIterator getLookupIterator() {
+        return this.children.get(1);
+    }
+
     private void initLookupKey(DynamicContext context) {
 
         RuntimeIterator lookupIterator = this.children.get(1);
@@ -22,11 +22,12 @@ package org.rumbledb.runtime.navigation;
 
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.api.java.UDF1;
+import org.apache.spark.sql.types.StructType;
 import org.rumbledb.api.Item;
 import org.rumbledb.context.DynamicContext;
 import org.rumbledb.context.Name;
 import org.rumbledb.exceptions.ExceptionMetadata;
-import org.rumbledb.items.parsing.ItemParser;
+import org.rumbledb.items.parsing.ItemConverter;
 import org.rumbledb.runtime.RuntimeIterator;
 import org.rumbledb.types.ItemType;
 
@@ -40,6 +41,8 @@ public class PredicateUDF implements UDF1<Row, Boolean> {
     private final DynamicContext dynamicContext;
     private final ExceptionMetadata metadata;
     private final ItemType itemType;
+    private transient StructType schema;
+    private transient ItemConverter converter;
     List<Item> currentItems = new ArrayList<>();
 
     public PredicateUDF(
@@ -58,7 +61,11 @@ public class PredicateUDF implements UDF1<Row, Boolean> {
     public Boolean call(Row row) {
         this.dynamicContext.getVariableValues().removeAllVariables();
         this.currentItems.clear();
-        Item item = ItemParser.getItemFromRow(row, this.metadata, this.itemType);
+        if (row.schema() != this.schema) {
+            this.schema = row.schema();
+            this.converter = ItemConverter.forRow(this.schema, this.itemType, this.metadata);
+        }
+        Item item = this.converter.convert(row);
         this.currentItems.add(item);
         this.dynamicContext.getVariableValues().addVariableValue(Name.CONTEXT_ITEM, this.currentItems);
 
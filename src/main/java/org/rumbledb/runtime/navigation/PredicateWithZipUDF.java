@@ -22,12 +22,13 @@ package org.rumbledb.runtime.navigation;
 
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.api.java.UDF1;
+import org.apache.spark.sql.types.StructType;
 import org.rumbledb.api.Item;
 import org.rumbledb.context.DynamicContext;
 import org.rumbledb.context.Name;
 import org.rumbledb.exceptions.ExceptionMetadata;
 import org.rumbledb.exceptions.OurBadException;
-import org.rumbledb.items.parsing.ItemParser;
+import org.rumbledb.items.parsing.ItemConverter;
 import org.rumbledb.runtime.RuntimeIterator;
 import org.rumbledb.types.ItemType;
 
@@ -44,6 +45,9 @@ public class PredicateWithZipUDF implements UDF1<Row, Boolean> {
     private final DynamicContext dynamicContext;
     private final ExceptionMetadata metadata;
     private final ItemType itemType;
+    private transient StructType schema;
+    private transient ItemConverter converter;
+    private transient int countColumnIndex;
     private final long contextSize;
     List<Item> currentItems = new ArrayList<>();
 
@@ -65,14 +69,19 @@ public class PredicateWithZipUDF implements UDF1<Row, Boolean> {
     public Boolean call(Row row) {
         this.dynamicContext.getVariableValues().removeAllVariables();
         this.currentItems.clear();
-        Item item = ItemParser.getItemFromRow(row, this.metadata, this.itemType);
+        if (row.schema() != this.schema) {
+            this.schema = row.schema();
+            this.converter = ItemConverter.forRow(this.schema, this.itemType, this.metadata);
+            Option<Object> opt = this.schema.getFieldIndex(SparkSessionManager.countColumnName);
+            if (opt.isEmpty()) {
+                throw new OurBadException("No count column for a zipped predicate on a dataframe.");
+            }
+            this.countColumnIndex = (int) opt.get();
+        }
+        Item item = this.converter.convert(row);
         this.currentItems.add(item);
         this.dynamicContext.getVariableValues().addVariableValue(Name.CONTEXT_ITEM, this.currentItems);
-        Option<Object> opt = row.schema().getFieldIndex(SparkSessionManager.countColumnName);
-        if (opt.isEmpty()) {
-            throw new OurBadException("No count column for a zipped predicate on a dataframe.");
-        }
-        this.dynamicContext.getVariableValues().setPosition(row.getLong((int) opt.get()));
+        this.dynamicContext.getVariableValues().setPosition(row.getLong(this.countColumnIndex));
         this.dynamicContext.getVariableValues().setLast(this.contextSize);
 
         boolean result = this.expression.getEffectiveBooleanValueOrCheckPosition(
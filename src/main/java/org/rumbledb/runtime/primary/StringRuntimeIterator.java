@@ -27,7 +27,6 @@ import org.rumbledb.context.RuntimeStaticContext;
 import org.rumbledb.items.ItemFactory;
 import org.rumbledb.runtime.AtMostOneItemLocalRuntimeIterator;
 import org.rumbledb.runtime.flwor.NativeClauseContext;
-import org.rumbledb.types.SequenceType;
 
 public class StringRuntimeIterator extends AtMostOneItemLocalRuntimeIterator {
 
@@ -46,10 +45,6 @@ public class StringRuntimeIterator extends AtMostOneItemLocalRuntimeIterator {
 
     @Override
     public NativeClauseContext generateNativeQuery(NativeClauseContext nativeClauseContext) {
-        return new NativeClauseContext(
-                nativeClauseContext,
-                '"' + this.item.getStringValue() + '"',
-                SequenceType.STRING
-        );
+        return this.item.generateNativeQuery(nativeClauseContext);
     }
 }
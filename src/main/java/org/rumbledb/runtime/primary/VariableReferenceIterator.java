@@ -51,6 +51,7 @@ public class VariableReferenceIterator extends HybridRuntimeIterator {
     private Name variableName;
     private List<Item> items = null;
     private int currentIndex = 0;
+    private boolean isBroadcast = false;
 
     public VariableReferenceIterator(
             Name variableName,
@@ -158,6 +159,14 @@ public class VariableReferenceIterator extends HybridRuntimeIterator {
         return this.variableName;
     }
 
+    public boolean isBroadcast() {
+        return this.isBroadcast;
+    }
+
+    public void setBroadcast(boolean isBroadcast) {
+        this.isBroadcast = isBroadcast;
+    }
+
     public Map<Name, DynamicContext.VariableDependency> getVariableDependencies() {
         Map<Name, DynamicContext.VariableDependency> result = new TreeMap<>();
         result.put(this.variableName, DynamicContext.VariableDependency.FULL);
@@ -13,6 +13,6 @@ public class BreakStatementIterator extends AtMostOneItemLocalRuntimeIterator {
 
     @Override
     public Item materializeFirstItemOrNull(DynamicContext context) {
-        throw new BreakStatementException();
+        throw BreakStatementException.INSTANCE;
     }
 }
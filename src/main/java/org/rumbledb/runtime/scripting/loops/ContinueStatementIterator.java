@@ -13,6 +13,6 @@ public class ContinueStatementIterator extends AtMostOneItemLocalRuntimeIterator
 
     @Override
     public Item materializeFirstItemOrNull(DynamicContext context) {
-        throw new ContinueStatementException();
+        throw ContinueStatementException.INSTANCE;
     }
 }
@@ -28,9 +28,10 @@ public class WhileStatementIterator extends AtMostOneItemLocalRuntimeIterator {
 
     @Override
     public Item materializeFirstItemOrNull(DynamicContext context) {
+        DynamicContext childContext = new DynamicContext(context);
         while (this.testConditionIterator.getEffectiveBooleanValue(context)) {
             try {
-                DynamicContext childContext = new DynamicContext(context);
+                childContext.getVariableValues().removeAllVariables(); // clear the variables of the previous iteration
                 this.bodyIterator.materialize(childContext);
             } catch (BreakStatementException breakStatementException) {
                 break;
@@ -26,7 +26,8 @@ public class ApplyStatementIterator extends AtMostOneItemLocalRuntimeIterator {
         this.exprIterator.materialize(context);
         // Immediately apply pul if applicable
         if (this.exprIterator.isUpdating()) {
-            this.exprIterator.getPendingUpdateList(context).applyUpdates(this.getMetadata());
+            this.exprIterator.getPendingUpdateList(context)
+                .applyUpdates(context.getRumbleRuntimeConfiguration(), this.getMetadata());
         }
         return null;
     }
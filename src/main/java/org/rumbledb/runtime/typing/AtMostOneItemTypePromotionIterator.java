@@ -54,6 +54,10 @@ public class AtMostOneItemTypePromotionIterator extends AtMostOneItemLocalRuntim
         }
     }
 
+    public RuntimeIterator getIterator() {
+        return this.iterator;
+    }
+
     @Override
     public Item materializeFirstItemOrNull(DynamicContext context) {
         if (!this.sequenceType.isResolved()) {
@@ -124,17 +128,31 @@ public class AtMostOneItemTypePromotionIterator extends AtMostOneItemLocalRuntim
         if (value.equals(NativeClauseContext.NoNativeQuery)) {
             return NativeClauseContext.NoNativeQuery;
         }
-        if (!value.getResultingType().equals(SequenceType.FLOAT)) {
+        if (!value.getResultingType().getArity().equals(Arity.One)) {
             return NativeClauseContext.NoNativeQuery;
         }
+        ItemType valueType = value.getResultingType().getItemType();
+        if (valueType.isSubtypeOf(this.itemType)) {
+            return value;
+        }
         if (
             !this.itemType.equals(BuiltinTypesCatalogue.numericItem)
                 && !this.itemType.equals(BuiltinTypesCatalogue.doubleItem)
         ) {
             return NativeClauseContext.NoNativeQuery;
         }
-        // @TODO
-        return value;
+        if (valueType.equals(BuiltinTypesCatalogue.floatItem)) {
+            // @TODO
+            return value;
+        }
+        if (valueType.isNumeric() && this.itemType.equals(BuiltinTypesCatalogue.doubleItem)) {
+            return new NativeClauseContext(
+                    nativeClauseContext,
+                    "( CAST (" + value.getResultingQuery() + " AS DOUBLE) )",
+                    SequenceType.DOUBLE
+            );
+        }
+        return NativeClauseContext.NoNativeQuery;
     }
 
 }
@@ -56,6 +56,10 @@ public class TypePromotionIterator extends HybridRuntimeIterator {
         }
     }
 
+    public RuntimeIterator getIterator() {
+        return this.iterator;
+    }
+
     @Override
     public boolean hasNextLocal() {
         return this.hasNext;
@@ -0,0 +1,61 @@
+package org.rumbledb.runtime.update;
+
+import io.delta.tables.DeltaTable;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import sparksoniq.spark.SparkSessionManager;
+
+import java.util.Collections;
+
+/**
+ * A replace of the same column in many rows of a Delta table, kept as a DataFrame of (rowID, value) pairs instead of
+ * one update primitive per row. It is produced by updating FLWOR expressions evaluated in parallel, so that neither
+ * the targets nor the new values are ever materialized on the driver, and it is committed with a single MERGE.
+ */
+public class DeltaColumnUpdate {
+
+    public static final String valueColumnName = "value";
+
+    private final String tableLocation;
+    private final String columnPath;
+    private final Dataset<Row> values;
+
+    /**
+     * @param tableLocation the location of the Delta table.
+     * @param columnPath the dot-separated path of the replaced column.
+     * @param values a DataFrame with a rowID column and a value column, with at most one row per rowID.
+     */
+    public DeltaColumnUpdate(String tableLocation, String columnPath, Dataset<Row> values) {
+        this.tableLocation = tableLocation;
+        this.columnPath = columnPath;
+        this.values = values;
+    }
+
+    public String getTableLocation() {
+        return this.tableLocation;
+    }
+
+    public String getColumnPath() {
+        return this.columnPath;
+    }
+
+    public void apply() {
+        DeltaTable.forPath(SparkSessionManager.getInstance().getOrCreateSession(), this.tableLocation)
+            .as("target")
+            .merge(
+                this.values.as("source"),
+                "target."
+                    + SparkSessionManager.rowIdColumnName
+                    + " = source."
+                    + SparkSessionManager.rowIdColumnName
+            )
+            .whenMatched()
+            .updateExpr(
+                Collections.singletonMap(
+                    DeltaMergeBatch.quoteColumnPath(this.columnPath),
+                    "source." + valueColumnName
+                )
+            )
+            .execute();
+    }
+}
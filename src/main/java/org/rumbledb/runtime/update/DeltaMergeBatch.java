@@ -0,0 +1,174 @@
+package org.rumbledb.runtime.update;
+
+import io.delta.tables.DeltaTable;
+import org.apache.spark.sql.AnalysisException;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SparkSession;
+import org.rumbledb.api.Item;
+import org.rumbledb.runtime.update.primitives.UpdatePrimitive;
+import sparksoniq.spark.SparkSessionManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collects the object replaces and deletes of a snapshot that target Delta tables, and commits them with a single
+ * MERGE per table rather than one UPDATE statement (and Delta commit) per primitive.
+ *
+ * The changes of a table are staged as an inline table with one row per rowID, holding for each touched column the
+ * new value and a flag telling whether that row sets it. The merge goes through the DeltaTable API, as MERGE INTO
+ * statements reject nested assignment keys. Primitives on paths that go through arrays are not batched.
+ */
+public class DeltaMergeBatch {
+
+    private Map<String, Map<Long, Map<String, Item>>> tableRowChanges;
+    private Map<String, List<UpdatePrimitive>> tablePrimitives;
+
+    public DeltaMergeBatch() {
+        this.tableRowChanges = new LinkedHashMap<>();
+        this.tablePrimitives = new LinkedHashMap<>();
+    }
+
+    public static boolean isBatchable(UpdatePrimitive updatePrimitive) {
+        if (!updatePrimitive.isReplaceObject() && !updatePrimitive.isDeleteObject()) {
+            return false;
+        }
+        Item target = updatePrimitive.getTarget();
+        if (target.getTableLocation() == null || target.getTableLocation().equals("null")) {
+            return false;
+        }
+        return !target.getPathIn().contains("[");
+    }
+
+    public boolean isEmpty() {
+        return this.tableRowChanges.isEmpty();
+    }
+
+    public void addUpdatePrimitive(UpdatePrimitive updatePrimitive) {
+        Item target = updatePrimitive.getTarget();
+        String location = target.getTableLocation();
+        String tempPathIn = target.getPathIn() + ".";
+        String pathIn = tempPathIn.substring(tempPathIn.indexOf(".") + 1);
+
+        Map<String, Item> columnChanges = this.tableRowChanges
+            .computeIfAbsent(location, l -> new TreeMap<>())
+            .computeIfAbsent(target.getTopLevelID(), r -> new LinkedHashMap<>());
+        if (updatePrimitive.isDeleteObject()) {
+            for (Item selector : updatePrimitive.getContentList()) {
+                columnChanges.put(pathIn + selector.getStringValue(), null);
+            }
+        } else {
+            columnChanges.put(pathIn + updatePrimitive.getSelector().getStringValue(), updatePrimitive.getContent());
+        }
+        this.tablePrimitives.computeIfAbsent(location, l -> new ArrayList<>()).add(updatePrimitive);
+    }
+
+    public void apply() {
+        SparkSession session = SparkSessionManager.getInstance().getOrCreateSession();
+        for (String location : this.tableRowChanges.keySet()) {
+            Map<Long, Map<String, Item>> rowChanges = this.tableRowChanges.get(location);
+            Map<String, Integer> columnIndexes = getColumnIndexes(rowChanges);
+            try {
+                Dataset<Row> source = session.sql(getStagedQuery(rowChanges, columnIndexes));
+                DeltaTable.forPath(session, location)
+                    .as("target")
+                    .merge(
+                        source.as("source"),
+                        "target."
+                            + SparkSessionManager.rowIdColumnName
+                            + " = source."
+                            + SparkSessionManager.rowIdColumnName
+                    )
+                    .whenMatched()
+                    .updateExpr(getAssignments(columnIndexes))
+                    .execute();
+            } catch (Exception e) {
+                if (!(e instanceof AnalysisException)) {
+                    throw e;
+                }
+                // The staged values could not be coerced to common column types (or two columns conflict), nothing
+                // was committed: fall back to one statement per primitive.
+                for (UpdatePrimitive updatePrimitive : this.tablePrimitives.get(location)) {
+                    updatePrimitive.applyDelta();
+                }
+            }
+        }
+    }
+
+    private static Map<String, Integer> getColumnIndexes(Map<Long, Map<String, Item>> rowChanges) {
+        Map<String, Integer> columnIndexes = new LinkedHashMap<>();
+        for (Map<String, Item> columnChanges : rowChanges.values()) {
+            for (String column : columnChanges.keySet()) {
+                columnIndexes.putIfAbsent(column, columnIndexes.size());
+            }
+        }
+        return columnIndexes;
+    }
+
+    private static String getStagedQuery(
+            Map<Long, Map<String, Item>> rowChanges,
+            Map<String, Integer> columnIndexes
+    ) {
+        List<String> stagedRows = new ArrayList<>();
+        for (Map.Entry<Long, Map<String, Item>> entry : rowChanges.entrySet()) {
+            Map<String, Item> columnChanges = entry.getValue();
+            StringBuilder sb = new StringBuilder();
+            sb.append("(");
+            sb.append(entry.getKey());
+            for (String column : columnIndexes.keySet()) {
+                sb.append(", ");
+                if (columnChanges.containsKey(column)) {
+                    Item value = columnChanges.get(column);
+                    sb.append(value == null ? "NULL" : value.getSparkSQLValue());
+                    sb.append(", true");
+                } else {
+                    sb.append("NULL, false");
+                }
+            }
+            sb.append(")");
+            stagedRows.add(sb.toString());
+        }
+
+        List<String> stagedColumns = new ArrayList<>();
+        stagedColumns.add(SparkSessionManager.rowIdColumnName);
+        for (Integer index : columnIndexes.values()) {
+            stagedColumns.add("value" + index);
+            stagedColumns.add("isSet" + index);
+        }
+        return "SELECT * FROM VALUES "
+            + String.join(", ", stagedRows)
+            + " AS staged("
+            + String.join(", ", stagedColumns)
+            + ")";
+    }
+
+    private static Map<String, String> getAssignments(Map<String, Integer> columnIndexes) {
+        Map<String, String> assignments = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : columnIndexes.entrySet()) {
+            String column = quoteColumnPath(entry.getKey());
+            assignments.put(
+                column,
+                "CASE WHEN source.isSet"
+                    + entry.getValue()
+                    + " THEN source.value"
+                    + entry.getValue()
+                    + " ELSE target."
+                    + column
+                    + " END"
+            );
+        }
+        return assignments;
+    }
+
+    static String quoteColumnPath(String path) {
+        List<String> quotedFields = new ArrayList<>();
+        for (String field : path.split("\\.")) {
+            quotedFields.add("`" + field.replace("`", "``") + "`");
+        }
+        return String.join(".", quotedFields);
+    }
+}
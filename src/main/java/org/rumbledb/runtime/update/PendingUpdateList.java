@@ -1,58 +1,90 @@
 package org.rumbledb.runtime.update;
 
 import org.rumbledb.api.Item;
+import org.rumbledb.config.RumbleRuntimeConfiguration;
 import org.rumbledb.exceptions.ExceptionMetadata;
 import org.rumbledb.exceptions.OurBadException;
 import org.rumbledb.exceptions.TooManyRenamesOnSameTargetSelectorException;
 import org.rumbledb.exceptions.TooManyReplacesOnSameTargetSelectorException;
 import org.rumbledb.runtime.update.primitives.*;
 
-import java.util.*;
-
-public class PendingUpdateList {
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+public class PendingUpdateList implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final Comparator<Item> arraySelectorComparator = Comparator.comparingInt(Item::getIntValue)
+        .reversed();
+
+    private Map<Target, Item> insertObjMap;
+    private Map<Target, Map<Item, List<Item>>> insertArrayMap;
+    private Map<Target, Map<Item, Item>> delReplaceObjMap;
+    private Map<Target, Map<Item, Item>> delReplaceArrayMap;
+    private Map<Target, Map<Item, Item>> renameObjMap;
+    private List<DeltaColumnUpdate> deltaColumnUpdates;
+
+    /**
+     * The key under which updates on the same target are grouped. Delta items are the same target if they denote the
+     * same path in the same row of the same table, whatever their in-memory copy; other items only if they are the
+     * same object.
+     */
+    private static class Target implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+        private final Item item;
+        private final String tableLocation;
+
+        Target(Item item) {
+            this.item = item;
+            this.tableLocation = item.getTableLocation() == null || item.getTableLocation().equals("null")
+                ? null
+                : item.getTableLocation();
+        }
 
-    private Map<Item, Item> insertObjMap;
-    private Map<Item, Map<Item, List<Item>>> insertArrayMap;
-    private Map<Item, Map<Item, Item>> delReplaceObjMap;
-    private Map<Item, Map<Item, Item>> delReplaceArrayMap;
-    private Map<Item, Map<Item, Item>> renameObjMap;
-    private Comparator<Item> targetComparator;
-    private Comparator<Item> arraySelectorComparator;
+        boolean isDelta() {
+            return this.tableLocation != null;
+        }
 
-    public PendingUpdateList() {
-        // TODO: diff comparator for delta
-        this.targetComparator = (item1, item2) -> {
-            boolean itemIsDelta1 = item1.getTableLocation() != null && !item1.getTableLocation().equals("null");
-            boolean itemIsDelta2 = item2.getTableLocation() != null && !item2.getTableLocation().equals("null");
-            if (itemIsDelta1 && itemIsDelta2) {
-                int tableComp = item1.getTableLocation().compareTo(item2.getTableLocation());
-                if (tableComp != 0) {
-                    return tableComp;
-                }
-                int rowComp = Long.compare(item1.getTopLevelID(), item2.getTopLevelID());
-                if (rowComp != 0) {
-                    return rowComp;
-                }
-                return item1.getPathIn().compareTo(item2.getPathIn());
-            } else if (itemIsDelta1 || itemIsDelta2) {
-                // TODO: what to compare when one is delta and one is not? Never occurs?
-                return 0;
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Target)) {
+                return false;
             }
-            int hashCompare = Integer.compare(item1.hashCode(), item2.hashCode());
-            if (item1.hashCode() != item2.hashCode()) {
-                return hashCompare;
+            Target otherTarget = (Target) other;
+            if (!isDelta() || !otherTarget.isDelta()) {
+                return this.item == otherTarget.item;
             }
-            if (!item1.equals(item2)) {
-                return hashCompare;
+            return this.tableLocation.equals(otherTarget.tableLocation)
+                && this.item.getTopLevelID() == otherTarget.item.getTopLevelID()
+                && this.item.getPathIn().equals(otherTarget.item.getPathIn());
+        }
+
+        @Override
+        public int hashCode() {
+            if (!isDelta()) {
+                return System.identityHashCode(this.item);
             }
-            return Integer.compare(System.identityHashCode(item1), System.identityHashCode(item2));
-        };
-        this.arraySelectorComparator = Comparator.comparingInt(Item::getIntValue).reversed();
-        this.insertObjMap = new TreeMap<>(this.targetComparator);
-        this.insertArrayMap = new TreeMap<>(this.targetComparator);
-        this.delReplaceObjMap = new TreeMap<>(this.targetComparator);
-        this.delReplaceArrayMap = new TreeMap<>(this.targetComparator);
-        this.renameObjMap = new TreeMap<>(this.targetComparator);
+            return Objects.hash(this.tableLocation, this.item.getTopLevelID(), this.item.getPathIn());
+        }
+    }
+
+    public PendingUpdateList() {
+        // Insertion-ordered, so that updates are applied in a deterministic order.
+        this.insertObjMap = new LinkedHashMap<>();
+        this.insertArrayMap = new LinkedHashMap<>();
+        this.delReplaceObjMap = new LinkedHashMap<>();
+        this.delReplaceArrayMap = new LinkedHashMap<>();
+        this.renameObjMap = new LinkedHashMap<>();
+        this.deltaColumnUpdates = new ArrayList<>();
     }
 
     public PendingUpdateList(UpdatePrimitive updatePrimitive) {
@@ -61,91 +93,118 @@ public class PendingUpdateList {
     }
 
     public void addUpdatePrimitive(UpdatePrimitive updatePrimitive) {
-        Item target = updatePrimitive.getTarget();
+        Target target = new Target(updatePrimitive.getTarget());
         if (updatePrimitive.isDeleteObject()) {
-            Map<Item, Item> locSrcMap = this.delReplaceObjMap.getOrDefault(target, new HashMap<>());
+            Map<Item, Item> locSrcMap = this.delReplaceObjMap.computeIfAbsent(target, t -> new HashMap<>());
             for (Item locator : updatePrimitive.getContentList()) {
                 locSrcMap.put(locator, null);
             }
-            this.delReplaceObjMap.put(target, locSrcMap);
 
         } else if (updatePrimitive.isReplaceObject()) {
-            Map<Item, Item> locSrcMap = this.delReplaceObjMap.getOrDefault(target, new HashMap<>());
-            locSrcMap.put(updatePrimitive.getSelector(), updatePrimitive.getContent());
-            this.delReplaceObjMap.put(target, locSrcMap);
+            this.delReplaceObjMap.computeIfAbsent(target, t -> new HashMap<>())
+                .put(updatePrimitive.getSelector(), updatePrimitive.getContent());
 
         } else if (updatePrimitive.isInsertObject()) {
             this.insertObjMap.put(target, updatePrimitive.getContent());
 
         } else if (updatePrimitive.isRenameObject()) {
-            Map<Item, Item> locSrcMap = this.renameObjMap.getOrDefault(target, new HashMap<>());
-            locSrcMap.put(updatePrimitive.getSelector(), updatePrimitive.getContent());
-            this.renameObjMap.put(target, locSrcMap);
+            this.renameObjMap.computeIfAbsent(target, t -> new HashMap<>())
+                .put(updatePrimitive.getSelector(), updatePrimitive.getContent());
 
         } else if (updatePrimitive.isDeleteArray()) {
-            Map<Item, Item> locSrcMap = this.delReplaceArrayMap.getOrDefault(target, new HashMap<>());
-            locSrcMap.put(updatePrimitive.getSelector(), null);
-            this.delReplaceArrayMap.put(target, locSrcMap);
+            this.delReplaceArrayMap.computeIfAbsent(target, t -> new HashMap<>())
+                .put(updatePrimitive.getSelector(), null);
 
         } else if (updatePrimitive.isReplaceArray()) {
-            Map<Item, Item> locSrcMap = this.delReplaceArrayMap.getOrDefault(target, new HashMap<>());
-            locSrcMap.put(updatePrimitive.getSelector(), updatePrimitive.getContent());
-            this.delReplaceArrayMap.put(target, locSrcMap);
+            this.delReplaceArrayMap.computeIfAbsent(target, t -> new HashMap<>())
+                .put(updatePrimitive.getSelector(), updatePrimitive.getContent());
 
         } else if (updatePrimitive.isInsertArray()) {
-            Map<Item, List<Item>> locSrcMap = this.insertArrayMap.getOrDefault(target, new HashMap<>());
-            locSrcMap.put(updatePrimitive.getSelector(), updatePrimitive.getContentList());
-            this.insertArrayMap.put(target, locSrcMap);
+            this.insertArrayMap.computeIfAbsent(target, t -> new HashMap<>())
+                .put(updatePrimitive.getSelector(), updatePrimitive.getContentList());
         } else {
             throw new OurBadException("Invalid UpdatePrimitive created");
         }
     }
 
-    public void applyUpdates(ExceptionMetadata metadata) {
-        UpdatePrimitiveFactory upFactory = UpdatePrimitiveFactory.getInstance();
+    public void addDeltaColumnUpdate(DeltaColumnUpdate deltaColumnUpdate) {
+        this.deltaColumnUpdates.add(deltaColumnUpdate);
+    }
+
+    /**
+     * @return true if all targets are Delta table rows, which are identified by their location rather than by object
+     *         identity, and can therefore be targeted from copies of the items (e.g., built on executors).
+     */
+    public boolean targetsOnlyDeltaItems() {
+        for (
+            Map<Target, ?> map : Arrays.asList(
+                this.insertObjMap,
+                this.insertArrayMap,
+                this.delReplaceObjMap,
+                this.delReplaceArrayMap,
+                this.renameObjMap
+            )
+        ) {
+            for (Target target : map.keySet()) {
+                if (!target.isDelta()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
 
-        // new TreeMap<>(this.targetComparator) sometimes causes null on apply?
-        Map<Item, Map<Item, List<UpdatePrimitive>>> targetArrayPULs = new HashMap<>();
-        Map<Item, List<UpdatePrimitive>> tempSelPULsMap;
-        List<UpdatePrimitive> tempArrayPULs;
+    public void applyUpdates(RumbleRuntimeConfiguration configuration, ExceptionMetadata metadata) {
+        UpdatePrimitiveFactory upFactory = UpdatePrimitiveFactory.getInstance();
+        DeltaMergeBatch deltaBatch = new DeltaMergeBatch();
+        boolean batchDelta = configuration.batchDeltaUpdates();
 
+        Map<Target, Map<Item, List<UpdatePrimitive>>> targetArrayPULs = new LinkedHashMap<>();
         List<UpdatePrimitive> objectPUL = new ArrayList<>();
-        Map<Item, Item> tempSelSrcMap;
-        Map<Item, List<Item>> tempSelSrcListMap;
-        Item tempSrc;
 
         ////// OBJECTS
 
         // DELETES & REPLACES
-        for (Item target : this.delReplaceObjMap.keySet()) {
+        for (Map.Entry<Target, Map<Item, Item>> entry : this.delReplaceObjMap.entrySet()) {
+            Item target = entry.getKey().item;
             List<Item> toDel = new ArrayList<>();
-            tempSelSrcMap = this.delReplaceObjMap.get(target);
-            for (Item locator : tempSelSrcMap.keySet()) {
-                tempSrc = tempSelSrcMap.get(locator);
-                if (tempSrc == null) {
-                    toDel.add(locator);
+            for (Map.Entry<Item, Item> selSrc : entry.getValue().entrySet()) {
+                if (selSrc.getValue() == null) {
+                    toDel.add(selSrc.getKey());
                 } else {
-                    objectPUL.add(upFactory.createReplaceInObjectPrimitive(target, locator, tempSrc, metadata));
+                    addObjectPrimitive(
+                        upFactory.createReplaceInObjectPrimitive(target, selSrc.getKey(), selSrc.getValue(), metadata),
+                        objectPUL,
+                        batchDelta ? deltaBatch : null
+                    );
                 }
             }
             if (!toDel.isEmpty()) {
-                objectPUL.add(upFactory.createDeleteFromObjectPrimitive(target, toDel, metadata));
+                addObjectPrimitive(
+                    upFactory.createDeleteFromObjectPrimitive(target, toDel, metadata),
+                    objectPUL,
+                    batchDelta ? deltaBatch : null
+                );
             }
         }
 
         // INSERTS
 
-        for (Item target : this.insertObjMap.keySet()) {
-            objectPUL.add(upFactory.createInsertIntoObjectPrimitive(target, this.insertObjMap.get(target), metadata));
+        for (Map.Entry<Target, Item> entry : this.insertObjMap.entrySet()) {
+            objectPUL.add(upFactory.createInsertIntoObjectPrimitive(entry.getKey().item, entry.getValue(), metadata));
         }
 
         // RENAMES
 
-        for (Item target : this.renameObjMap.keySet()) {
-            tempSelSrcMap = this.renameObjMap.get(target);
-            for (Item locator : tempSelSrcMap.keySet()) {
+        for (Map.Entry<Target, Map<Item, Item>> entry : this.renameObjMap.entrySet()) {
+            for (Map.Entry<Item, Item> selSrc : entry.getValue().entrySet()) {
                 objectPUL.add(
-                    upFactory.createRenameInObjectPrimitive(target, locator, tempSelSrcMap.get(locator), metadata)
+                    upFactory.createRenameInObjectPrimitive(
+                        entry.getKey().item,
+                        selSrc.getKey(),
+                        selSrc.getValue(),
+                        metadata
+                    )
                 );
             }
         }
@@ -154,55 +213,60 @@ public class PendingUpdateList {
 
         // DELETES & REPLACES
 
-        for (Item target : this.delReplaceArrayMap.keySet()) {
-            tempSelPULsMap = targetArrayPULs.getOrDefault(target, new TreeMap<>(this.arraySelectorComparator));
-            tempSelSrcMap = this.delReplaceArrayMap.get(target);
-            for (Item locator : tempSelSrcMap.keySet()) {
+        for (Map.Entry<Target, Map<Item, Item>> entry : this.delReplaceArrayMap.entrySet()) {
+            Item target = entry.getKey().item;
+            Map<Item, List<UpdatePrimitive>> tempSelPULsMap = targetArrayPULs.computeIfAbsent(
+                entry.getKey(),
+                t -> new TreeMap<>(arraySelectorComparator)
+            );
+            for (Map.Entry<Item, Item> selSrc : entry.getValue().entrySet()) {
                 UpdatePrimitive up;
-                tempSrc = tempSelSrcMap.get(locator);
-                if (tempSrc == null) {
-                    up = upFactory.createDeleteFromArrayPrimitive(target, locator, metadata);
+                if (selSrc.getValue() == null) {
+                    up = upFactory.createDeleteFromArrayPrimitive(target, selSrc.getKey(), metadata);
                 } else {
-                    up = upFactory.createReplaceInArrayPrimitive(target, locator, tempSrc, metadata);
+                    up = upFactory.createReplaceInArrayPrimitive(target, selSrc.getKey(), selSrc.getValue(), metadata);
                 }
-                tempArrayPULs = tempSelPULsMap.getOrDefault(locator, new ArrayList<>());
-                tempArrayPULs.add(up);
-                tempSelPULsMap.put(locator, tempArrayPULs);
+                tempSelPULsMap.computeIfAbsent(selSrc.getKey(), l -> new ArrayList<>()).add(up);
             }
-            targetArrayPULs.put(target, tempSelPULsMap);
         }
 
         // INSERTS
 
-        for (Item target : this.insertArrayMap.keySet()) {
-            UpdatePrimitive up;
-            tempSelPULsMap = targetArrayPULs.getOrDefault(target, new TreeMap<>(this.arraySelectorComparator));
-            tempSelSrcListMap = this.insertArrayMap.get(target);
-            for (Item locator : tempSelSrcListMap.keySet()) {
-                up = upFactory.createInsertIntoArrayPrimitive(
+        for (Map.Entry<Target, Map<Item, List<Item>>> entry : this.insertArrayMap.entrySet()) {
+            Item target = entry.getKey().item;
+            Map<Item, List<UpdatePrimitive>> tempSelPULsMap = targetArrayPULs.computeIfAbsent(
+                entry.getKey(),
+                t -> new TreeMap<>(arraySelectorComparator)
+            );
+            for (Map.Entry<Item, List<Item>> selSrc : entry.getValue().entrySet()) {
+                UpdatePrimitive up = upFactory.createInsertIntoArrayPrimitive(
                     target,
-                    locator,
-                    tempSelSrcListMap.get(locator),
+                    selSrc.getKey(),
+                    selSrc.getValue(),
                     metadata
                 );
-                tempArrayPULs = tempSelPULsMap.getOrDefault(locator, new ArrayList<>());
-                tempArrayPULs.add(up);
-                tempSelPULsMap.put(locator, tempArrayPULs);
+                tempSelPULsMap.computeIfAbsent(selSrc.getKey(), l -> new ArrayList<>()).add(up);
             }
-            targetArrayPULs.put(target, tempSelPULsMap);
         }
 
         ////// APPLY OBJECTS
 
+        // Column-wide replaces go first, so that deletes of the same keys still win.
+        for (DeltaColumnUpdate deltaColumnUpdate : this.deltaColumnUpdates) {
+            deltaColumnUpdate.apply();
+        }
+
+        if (!deltaBatch.isEmpty()) {
+            deltaBatch.apply();
+        }
+
         for (UpdatePrimitive updatePrimitive : objectPUL) {
             updatePrimitive.apply();
         }
 
         ////// APPLY ARRAYS
-        for (Item target : targetArrayPULs.keySet()) {
-            tempSelPULsMap = targetArrayPULs.get(target);
-            for (Item selector : tempSelPULsMap.keySet()) {
-                tempArrayPULs = tempSelPULsMap.get(selector);
+        for (Map<Item, List<UpdatePrimitive>> tempSelPULsMap : targetArrayPULs.values()) {
+            for (List<UpdatePrimitive> tempArrayPULs : tempSelPULsMap.values()) {
                 for (UpdatePrimitive up : tempArrayPULs) {
                     up.apply();
                 }
@@ -211,39 +275,42 @@ public class PendingUpdateList {
 
     }
 
+    private static void addObjectPrimitive(
+            UpdatePrimitive updatePrimitive,
+            List<UpdatePrimitive> objectPUL,
+            DeltaMergeBatch deltaBatch
+    ) {
+        if (deltaBatch != null && DeltaMergeBatch.isBatchable(updatePrimitive)) {
+            deltaBatch.addUpdatePrimitive(updatePrimitive);
+        } else {
+            objectPUL.add(updatePrimitive);
+        }
+    }
+
     public void mergeUpdates(
             PendingUpdateList otherPul,
             ExceptionMetadata metadata
     ) {
-        Map<Item, Item> tempSelSrcMap;
-        Map<Item, List<Item>> tempSelSrcListMap;
-        Map<Item, Item> tempSelSrcResMap;
-        Map<Item, List<Item>> tempSelSrcResListMap;
-        Item tempSrc;
-        Item tempSrcRes;
-        List<Item> tempSrcList;
-
         ////// OBJECTS
 
         // DELETES & REPLACES
-        for (Item target : otherPul.delReplaceObjMap.keySet()) {
-            tempSelSrcMap = otherPul.delReplaceObjMap.get(target);
-            tempSelSrcResMap = this.delReplaceObjMap.getOrDefault(target, new HashMap<>());
-
-            for (Item selector : tempSelSrcMap.keySet()) {
-                tempSrc = tempSelSrcMap.get(selector);
-                tempSrcRes = tempSelSrcResMap.get(selector);
+        for (Map.Entry<Target, Map<Item, Item>> entry : otherPul.delReplaceObjMap.entrySet()) {
+            Target target = entry.getKey();
+            Map<Item, Item> tempSelSrcResMap = this.delReplaceObjMap.computeIfAbsent(target, t -> new HashMap<>());
+            Map<Item, Item> renames = this.renameObjMap.get(target);
+
+            for (Map.Entry<Item, Item> selSrc : entry.getValue().entrySet()) {
+                Item selector = selSrc.getKey();
+                Item tempSrc = selSrc.getValue();
                 boolean srcResMapHasSel = tempSelSrcResMap.containsKey(selector);
                 if (tempSrc == null) {
-                    boolean hasRename = this.renameObjMap.containsKey(target)
-                        && this.renameObjMap.get(target).containsKey(selector);
-                    if (hasRename) {
-                        this.renameObjMap.get(target).remove(selector);
+                    if (renames != null) {
+                        renames.remove(selector);
                     }
                 } else {
-                    if (srcResMapHasSel && tempSrcRes != null) {
+                    if (srcResMapHasSel && tempSelSrcResMap.get(selector) != null) {
                         throw new TooManyReplacesOnSameTargetSelectorException(
-                                target.getDynamicType().getName().toString(),
+                                target.item.getDynamicType().getName().toString(),
                                 selector.getStringValue(),
                                 metadata
                         );
@@ -253,55 +320,54 @@ public class PendingUpdateList {
                 }
                 tempSelSrcResMap.put(selector, tempSrc);
             }
-            this.delReplaceObjMap.put(target, tempSelSrcResMap);
         }
 
         // INSERTS
-        for (Item target : otherPul.insertObjMap.keySet()) {
-            tempSrc = otherPul.insertObjMap.get(target);
-            if (this.insertObjMap.containsKey(target)) {
-                tempSrc = InsertIntoObjectPrimitive.mergeSources(this.insertObjMap.get(target), tempSrc, metadata);
-            }
-            this.insertObjMap.put(target, tempSrc);
+        for (Map.Entry<Target, Item> entry : otherPul.insertObjMap.entrySet()) {
+            this.insertObjMap.merge(
+                entry.getKey(),
+                entry.getValue(),
+                (existing, added) -> InsertIntoObjectPrimitive.mergeSources(existing, added, metadata)
+            );
         }
 
         // RENAME
-        for (Item target : otherPul.renameObjMap.keySet()) {
-            tempSelSrcMap = otherPul.renameObjMap.get(target);
-            tempSelSrcResMap = this.renameObjMap.getOrDefault(target, new HashMap<>());
+        for (Map.Entry<Target, Map<Item, Item>> entry : otherPul.renameObjMap.entrySet()) {
+            Target target = entry.getKey();
+            Map<Item, Item> tempSelSrcResMap = this.renameObjMap.computeIfAbsent(target, t -> new HashMap<>());
+            Map<Item, Item> delReplaces = this.delReplaceObjMap.get(target);
 
-            for (Item selector : tempSelSrcMap.keySet()) {
+            for (Map.Entry<Item, Item> selSrc : entry.getValue().entrySet()) {
+                Item selector = selSrc.getKey();
                 if (tempSelSrcResMap.containsKey(selector)) {
                     throw new TooManyRenamesOnSameTargetSelectorException(selector.getStringValue(), metadata);
                 }
-                boolean isDelete = this.delReplaceObjMap.containsKey(target)
-                    && this.delReplaceObjMap.get(target).containsKey(selector)
-                    && this.delReplaceObjMap.get(target).get(selector) == null;
+                boolean isDelete = delReplaces != null
+                    && delReplaces.containsKey(selector)
+                    && delReplaces.get(selector) == null;
                 if (isDelete) {
                     continue;
                 }
-                tempSelSrcResMap.put(selector, tempSelSrcMap.get(selector));
+                tempSelSrcResMap.put(selector, selSrc.getValue());
             }
-            this.renameObjMap.put(target, tempSelSrcResMap);
         }
 
         ////// ARRAYS
 
         // DELETES & REPLACES
-        for (Item target : otherPul.delReplaceArrayMap.keySet()) {
-            tempSelSrcMap = otherPul.delReplaceArrayMap.get(target);
-            tempSelSrcResMap = this.delReplaceArrayMap.getOrDefault(target, new HashMap<>());
-
-            for (Item selector : tempSelSrcMap.keySet()) {
-                tempSrc = tempSelSrcMap.get(selector);
-                tempSrcRes = tempSelSrcResMap.get(selector);
-                boolean srcResMapHasSel = tempSelSrcResMap.containsKey(selector);
-                if (tempSrc != null && srcResMapHasSel) {
-                    if (tempSrcRes == null) {
+        for (Map.Entry<Target, Map<Item, Item>> entry : otherPul.delReplaceArrayMap.entrySet()) {
+            Target target = entry.getKey();
+            Map<Item, Item> tempSelSrcResMap = this.delReplaceArrayMap.computeIfAbsent(target, t -> new HashMap<>());
+
+            for (Map.Entry<Item, Item> selSrc : entry.getValue().entrySet()) {
+                Item selector = selSrc.getKey();
+                Item tempSrc = selSrc.getValue();
+                if (tempSrc != null && tempSelSrcResMap.containsKey(selector)) {
+                    if (tempSelSrcResMap.get(selector) == null) {
                         continue;
                     } else {
                         throw new TooManyReplacesOnSameTargetSelectorException(
-                                target.getDynamicType().getName().toString(),
+                                target.item.getDynamicType().getName().toString(),
                                 Integer.toString(selector.getIntValue()),
                                 metadata
                         );
@@ -309,23 +375,26 @@ public class PendingUpdateList {
                 }
                 tempSelSrcResMap.put(selector, tempSrc);
             }
-            this.delReplaceArrayMap.put(target, tempSelSrcResMap);
         }
 
         // INSERTS
-        for (Item target : otherPul.insertArrayMap.keySet()) {
-            tempSelSrcListMap = otherPul.insertArrayMap.get(target);
-            tempSelSrcResListMap = this.insertArrayMap.getOrDefault(target, new HashMap<>());
-
-            for (Item selector : tempSelSrcListMap.keySet()) {
-                tempSrcList = tempSelSrcResListMap.getOrDefault(selector, new ArrayList<>());
+        for (Map.Entry<Target, Map<Item, List<Item>>> entry : otherPul.insertArrayMap.entrySet()) {
+            Map<Item, List<Item>> tempSelSrcResListMap = this.insertArrayMap.computeIfAbsent(
+                entry.getKey(),
+                t -> new HashMap<>()
+            );
+
+            for (Map.Entry<Item, List<Item>> selSrc : entry.getValue().entrySet()) {
+                List<Item> tempSrcList = tempSelSrcResListMap.getOrDefault(selSrc.getKey(), new ArrayList<>());
                 tempSelSrcResListMap.put(
-                    selector,
-                    InsertIntoArrayPrimitive.mergeSources(tempSrcList, tempSelSrcListMap.get(selector))
+                    selSrc.getKey(),
+                    InsertIntoArrayPrimitive.mergeSources(tempSrcList, selSrc.getValue())
                 );
             }
-            this.insertArrayMap.put(target, tempSelSrcResListMap);
         }
+
+        ////// DELTA COLUMNS
+        this.deltaColumnUpdates.addAll(otherPul.deltaColumnUpdates);
     }
 
 }
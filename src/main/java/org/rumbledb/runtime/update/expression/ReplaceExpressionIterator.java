@@ -38,6 +38,18 @@ public class ReplaceExpressionIterator extends HybridRuntimeIterator {
         this.isUpdating = true;
     }
 
+    public RuntimeIterator getMainIterator() {
+        return this.mainIterator;
+    }
+
+    public RuntimeIterator getLocatorIterator() {
+        return this.locatorIterator;
+    }
+
+    public RuntimeIterator getReplacerIterator() {
+        return this.replacerIterator;
+    }
+
     @Override
     protected JavaRDD<Item> getRDDAux(DynamicContext context) {
         return null;
@@ -45,14 +45,17 @@ public class TransformExpressionIterator extends HybridRuntimeIterator {
     @Override
     protected JavaRDD<Item> getRDDAux(DynamicContext context) {
         PendingUpdateList pul = getPendingUpdateList(context);
-        pul.applyUpdates(this.getMetadata());
+        pul.applyUpdates(context.getRumbleRuntimeConfiguration(), this.getMetadata());
         return this.returnIterator.getRDD(context);
     }
 
     @Override
     protected void openLocal() {
         PendingUpdateList pul = getPendingUpdateList(this.currentDynamicContextForLocalExecution);
-        pul.applyUpdates(this.getMetadata());
+        pul.applyUpdates(
+            this.currentDynamicContextForLocalExecution.getRumbleRuntimeConfiguration(),
+            this.getMetadata()
+        );
         this.returnIterator.open(this.currentDynamicContextForLocalExecution);
     }
 
@@ -67,7 +70,10 @@ public class TransformExpressionIterator extends HybridRuntimeIterator {
     @Override
     protected void resetLocal() {
         PendingUpdateList pul = getPendingUpdateList(this.currentDynamicContextForLocalExecution);
-        pul.applyUpdates(this.getMetadata());
+        pul.applyUpdates(
+            this.currentDynamicContextForLocalExecution.getRumbleRuntimeConfiguration(),
+            this.getMetadata()
+        );
         this.returnIterator.reset(this.currentDynamicContextForLocalExecution);
     }
 
@@ -46,6 +46,10 @@ public class FlworKey implements KryoSerializable {
 
     }
 
+    public FlworKey() {
+        this.keyItems = new ArrayList<>();
+    }
+
     List<Item> getKeyItems() {
         return this.keyItems;
     }
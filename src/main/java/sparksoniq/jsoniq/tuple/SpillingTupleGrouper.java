@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package sparksoniq.jsoniq.tuple;
+
+import com.esotericsoftware.kryo.Kryo;
+import org.rumbledb.exceptions.ExceptionMetadata;
+import org.rumbledb.exceptions.OurBadException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Groups keyed tuples within a memory budget. Tuples are buffered in a hash map until the buffer exceeds the budget.
+ * From then on, all tuples are written to disk, in a fixed number of partitions chosen by the hash of their key, and
+ * the groups are built one partition at a time when they are read.
+ *
+ * Nothing is spilled if the budget is 0, or if the first tuple holds RDD or DataFrame variables, which cannot be
+ * serialized.
+ */
+public class SpillingTupleGrouper {
+
+    private static final int NUMBER_OF_PARTITIONS = 16;
+
+    private final long memoryBudget;
+    private final ExceptionMetadata metadata;
+    private final Kryo kryo;
+    private final TupleSizeEstimator sizeEstimator;
+    private Map<FlworKey, List<FlworTuple>> buffer;
+    private List<TupleSpillFile> partitions;
+    private Boolean spillable;
+
+    public SpillingTupleGrouper(long memoryBudget, ExceptionMetadata metadata) {
+        this.memoryBudget = memoryBudget;
+        this.metadata = metadata;
+        this.kryo = TupleSpillFile.createKryo();
+        this.sizeEstimator = new TupleSizeEstimator(this.kryo);
+        this.buffer = new HashMap<>();
+        this.partitions = null;
+        this.spillable = null;
+    }
+
+    public void add(FlworKey key, FlworTuple tuple) {
+        if (this.spillable == null) {
+            this.spillable = this.memoryBudget > 0
+                && tuple.getRDDKeys().isEmpty()
+                && tuple.getDataFrameKeys().isEmpty();
+        }
+        if (this.partitions != null) {
+            if (!tuple.getRDDKeys().isEmpty() || !tuple.getDataFrameKeys().isEmpty()) {
+                throw new OurBadException("Cannot spill a tuple that holds RDD or DataFrame variables.", this.metadata);
+            }
+            getPartition(key).write(key, tuple);
+            return;
+        }
+        List<FlworTuple> values = this.buffer.get(key);
+        if (values == null) {
+            values = new ArrayList<>();
+            this.buffer.put(key, values);
+        }
+        values.add(tuple);
+        if (!this.spillable) {
+            return;
+        }
+        this.sizeEstimator.add(key, tuple);
+        if (this.sizeEstimator.getEstimatedSize() > this.memoryBudget) {
+            spill();
+        }
+    }
+
+    private void spill() {
+        this.partitions = new ArrayList<>(NUMBER_OF_PARTITIONS);
+        for (int i = 0; i < NUMBER_OF_PARTITIONS; ++i) {
+            this.partitions.add(new TupleSpillFile(this.kryo, this.metadata));
+        }
+        for (Map.Entry<FlworKey, List<FlworTuple>> entry : this.buffer.entrySet()) {
+            TupleSpillFile partition = getPartition(entry.getKey());
+            for (FlworTuple tuple : entry.getValue()) {
+                partition.write(entry.getKey(), tuple);
+            }
+        }
+        this.buffer = null;
+    }
+
+    private TupleSpillFile getPartition(FlworKey key) {
+        return this.partitions.get((key.hashCode() & Integer.MAX_VALUE) % NUMBER_OF_PARTITIONS);
+    }
+
+    /**
+     * Returns the groups, each as the list of its tuples in input order. This can only be called once, after all
+     * tuples were added. If tuples were spilled, only the groups of one partition are held in memory at any time.
+     *
+     * @return an iterator over the groups.
+     */
+    public Iterator<List<FlworTuple>> groups() {
+        if (this.partitions == null) {
+            return this.buffer.values().iterator();
+        }
+        return new Iterator<List<FlworTuple>>() {
+            private int nextPartition = 0;
+            private Iterator<List<FlworTuple>> currentGroups = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!this.currentGroups.hasNext() && this.nextPartition < NUMBER_OF_PARTITIONS) {
+                    this.currentGroups = loadPartition(this.nextPartition++);
+                }
+                return this.currentGroups.hasNext();
+            }
+
+            @Override
+            public List<FlworTuple> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return this.currentGroups.next();
+            }
+        };
+    }
+
+    private Iterator<List<FlworTuple>> loadPartition(int index) {
+        TupleSpillFile partition = this.partitions.get(index);
+        Map<FlworKey, List<FlworTuple>> groups = new HashMap<>();
+        Iterator<Map.Entry<FlworKey, FlworTuple>> tuples = partition.read();
+        while (tuples.hasNext()) {
+            Map.Entry<FlworKey, FlworTuple> entry = tuples.next();
+            List<FlworTuple> values = groups.get(entry.getKey());
+            if (values == null) {
+                values = new ArrayList<>();
+                groups.put(entry.getKey(), values);
+            }
+            values.add(entry.getValue());
+        }
+        partition.delete();
+        return groups.values().iterator();
+    }
+
+    /**
+     * Deletes the partitions spilled to disk.
+     */
+    public void close() {
+        if (this.partitions != null) {
+            for (TupleSpillFile partition : this.partitions) {
+                partition.delete();
+            }
+            this.partitions = null;
+        }
+        this.buffer = null;
+    }
+}
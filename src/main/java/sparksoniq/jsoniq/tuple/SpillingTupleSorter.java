@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package sparksoniq.jsoniq.tuple;
+
+import com.esotericsoftware.kryo.Kryo;
+import org.rumbledb.exceptions.ExceptionMetadata;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Sorts keyed tuples within a memory budget. Tuples are buffered in a sorted map, and whenever the buffer exceeds the
+ * budget it is written to disk as a sorted run. The runs and the last buffer are merged when the tuples are read.
+ * Tuples with equal keys keep their input order.
+ *
+ * Nothing is spilled if the budget is 0, or if the first tuple holds RDD or DataFrame variables, which cannot be
+ * serialized.
+ */
+public class SpillingTupleSorter {
+
+    private final Comparator<FlworKey> comparator;
+    private final long memoryBudget;
+    private final ExceptionMetadata metadata;
+    private final Kryo kryo;
+    private final TupleSizeEstimator sizeEstimator;
+    private final List<TupleSpillFile> runs;
+    private TreeMap<FlworKey, List<FlworTuple>> buffer;
+    private Boolean spillable;
+
+    public SpillingTupleSorter(Comparator<FlworKey> comparator, long memoryBudget, ExceptionMetadata metadata) {
+        this.comparator = comparator;
+        this.memoryBudget = memoryBudget;
+        this.metadata = metadata;
+        this.kryo = TupleSpillFile.createKryo();
+        this.sizeEstimator = new TupleSizeEstimator(this.kryo);
+        this.runs = new ArrayList<>();
+        this.buffer = new TreeMap<>(comparator);
+        this.spillable = null;
+    }
+
+    public void add(FlworKey key, FlworTuple tuple) {
+        List<FlworTuple> values = this.buffer.get(key);
+        if (values == null) {
+            values = new ArrayList<>();
+            this.buffer.put(key, values);
+        }
+        values.add(tuple);
+        if (this.spillable == null) {
+            this.spillable = this.memoryBudget > 0
+                && tuple.getRDDKeys().isEmpty()
+                && tuple.getDataFrameKeys().isEmpty();
+        }
+        if (!this.spillable) {
+            return;
+        }
+        this.sizeEstimator.add(key, tuple);
+        if (this.sizeEstimator.getEstimatedSize() > this.memoryBudget) {
+            spill();
+        }
+    }
+
+    private void spill() {
+        TupleSpillFile run = new TupleSpillFile(this.kryo, this.metadata);
+        for (Map.Entry<FlworKey, List<FlworTuple>> entry : this.buffer.entrySet()) {
+            for (FlworTuple tuple : entry.getValue()) {
+                run.write(entry.getKey(), tuple);
+            }
+        }
+        this.runs.add(run);
+        this.buffer = new TreeMap<>(this.comparator);
+        this.sizeEstimator.clear();
+    }
+
+    /**
+     * Returns the sorted tuples. This can only be called once, after all tuples were added.
+     *
+     * @return an iterator over the sorted tuples.
+     */
+    public Iterator<FlworTuple> sortedTuples() {
+        if (this.runs.isEmpty()) {
+            return this.buffer.values().stream().flatMap(List::stream).iterator();
+        }
+        // cursors are numbered in input order, so that ties are resolved in favor of earlier runs.
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>((c1, c2) -> {
+            int comparison = this.comparator.compare(c1.current.getKey(), c2.current.getKey());
+            return comparison != 0 ? comparison : Integer.compare(c1.index, c2.index);
+        });
+        for (int i = 0; i < this.runs.size(); ++i) {
+            addIfNotEmpty(cursors, new Cursor(this.runs.get(i).read(), i));
+        }
+        Iterator<Map.Entry<FlworKey, FlworTuple>> bufferedTuples = this.buffer.entrySet()
+            .stream()
+            .flatMap(
+                entry -> entry.getValue()
+                    .stream()
+                    .map(
+                        tuple -> (Map.Entry<FlworKey, FlworTuple>) new AbstractMap.SimpleImmutableEntry<FlworKey, FlworTuple>(
+                                entry.getKey(),
+                                tuple
+                        )
+                    )
+            )
+            .iterator();
+        addIfNotEmpty(cursors, new Cursor(bufferedTuples, this.runs.size()));
+        return new Iterator<FlworTuple>() {
+            @Override
+            public boolean hasNext() {
+                return !cursors.isEmpty();
+            }
+
+            @Override
+            public FlworTuple next() {
+                Cursor cursor = cursors.poll();
+                if (cursor == null) {
+                    throw new NoSuchElementException();
+                }
+                FlworTuple result = cursor.current.getValue();
+                cursor.advance();
+                addIfNotEmpty(cursors, cursor);
+                return result;
+            }
+        };
+    }
+
+    private static void addIfNotEmpty(PriorityQueue<Cursor> cursors, Cursor cursor) {
+        if (cursor.current != null) {
+            cursors.add(cursor);
+        }
+    }
+
+    /**
+     * Deletes the runs spilled to disk.
+     */
+    public void close() {
+        for (TupleSpillFile run : this.runs) {
+            run.delete();
+        }
+        this.runs.clear();
+        this.buffer.clear();
+    }
+
+    private static class Cursor {
+        private final Iterator<Map.Entry<FlworKey, FlworTuple>> iterator;
+        private final int index;
+        private Map.Entry<FlworKey, FlworTuple> current;
+
+        Cursor(Iterator<Map.Entry<FlworKey, FlworTuple>> iterator, int index) {
+            this.iterator = iterator;
+            this.index = index;
+            advance();
+        }
+
+        void advance() {
+            this.current = this.iterator.hasNext() ? this.iterator.next() : null;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package sparksoniq.jsoniq.tuple;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Estimates the size of buffered tuples from the serialized size of a sample of them. Tuples are sampled more
+ * sparsely as the buffer grows (about every tenth of its size), so that measuring stays cheap.
+ */
+public class TupleSizeEstimator {
+
+    private final Kryo kryo;
+    private final Output output;
+    private long numberOfTuples;
+    private long nextSample;
+    private long sampledBytes;
+    private long numberOfSamples;
+
+    public TupleSizeEstimator(Kryo kryo) {
+        this.kryo = kryo;
+        this.output = new Output(1024, -1);
+        this.sampledBytes = 0;
+        this.numberOfSamples = 0;
+        clear();
+    }
+
+    public void add(FlworKey key, FlworTuple tuple) {
+        this.numberOfTuples++;
+        if (this.numberOfTuples < this.nextSample) {
+            return;
+        }
+        this.output.clear();
+        this.kryo.writeObject(this.output, key);
+        this.kryo.writeObject(this.output, tuple);
+        this.sampledBytes += this.output.position();
+        this.numberOfSamples++;
+        this.nextSample = this.numberOfTuples + Math.max(1, this.numberOfTuples / 10);
+    }
+
+    /**
+     * Returns the estimated size of the tuples added since the last call to {@link #clear()}. Samples taken before
+     * the last clear still count towards the average tuple size.
+     *
+     * @return the estimated size in bytes.
+     */
+    public long getEstimatedSize() {
+        if (this.numberOfSamples == 0) {
+            return 0;
+        }
+        return this.sampledBytes / this.numberOfSamples * this.numberOfTuples;
+    }
+
+    public void clear() {
+        this.numberOfTuples = 0;
+        this.nextSample = 1;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package sparksoniq.jsoniq.tuple;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.rumbledb.exceptions.ExceptionMetadata;
+import org.rumbledb.exceptions.OurBadException;
+import org.rumbledb.runtime.flwor.FlworDataFrameUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A temporary file holding keyed tuples serialized with Kryo. Tuples are read back in the order in which they were
+ * written.
+ */
+public class TupleSpillFile {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Kryo kryo;
+    private final File file;
+    private final ExceptionMetadata metadata;
+    private Output output;
+    private Input input;
+    private long numberOfTuples;
+
+    public TupleSpillFile(Kryo kryo, ExceptionMetadata metadata) {
+        this.kryo = kryo;
+        this.metadata = metadata;
+        try {
+            this.file = File.createTempFile("rumble-spill", ".bin");
+            this.file.deleteOnExit();
+            this.output = new Output(new FileOutputStream(this.file), BUFFER_SIZE);
+        } catch (IOException e) {
+            throw new OurBadException("Could not create a file to spill tuples to: " + e.getMessage(), metadata);
+        }
+        this.numberOfTuples = 0;
+    }
+
+    /**
+     * Creates a Kryo instance that can serialize tuples and their items.
+     *
+     * @return the Kryo instance.
+     */
+    public static Kryo createKryo() {
+        Kryo kryo = new Kryo();
+        kryo.setReferences(false);
+        FlworDataFrameUtils.registerKryoClassesKryo(kryo);
+        return kryo;
+    }
+
+    public void write(FlworKey key, FlworTuple tuple) {
+        this.kryo.writeObject(this.output, key);
+        this.kryo.writeObject(this.output, tuple);
+        this.numberOfTuples++;
+    }
+
+    public long getNumberOfTuples() {
+        return this.numberOfTuples;
+    }
+
+    /**
+     * Finishes writing and reads the tuples back. The file can only be read once.
+     *
+     * @return an iterator over the keys and tuples, in the order in which they were written.
+     */
+    public Iterator<Map.Entry<FlworKey, FlworTuple>> read() {
+        this.output.close();
+        this.output = null;
+        try {
+            this.input = new Input(new FileInputStream(this.file), BUFFER_SIZE);
+        } catch (IOException e) {
+            throw new OurBadException("Could not read back spilled tuples: " + e.getMessage(), this.metadata);
+        }
+        return new Iterator<Map.Entry<FlworKey, FlworTuple>>() {
+            private long remaining = TupleSpillFile.this.numberOfTuples;
+
+            @Override
+            public boolean hasNext() {
+                return this.remaining > 0;
+            }
+
+            @Override
+            public Map.Entry<FlworKey, FlworTuple> next() {
+                if (this.remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                this.remaining--;
+                Kryo kryo = TupleSpillFile.this.kryo;
+                Input input = TupleSpillFile.this.input;
+                FlworKey key = kryo.readObject(input, FlworKey.class);
+                FlworTuple tuple = kryo.readObject(input, FlworTuple.class);
+                return new AbstractMap.SimpleImmutableEntry<>(key, tuple);
+            }
+        };
+    }
+
+    public void delete() {
+        if (this.output != null) {
+            this.output.close();
+            this.output = null;
+        }
+        if (this.input != null) {
+            this.input.close();
+            this.input = null;
+        }
+        this.file.delete();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package sparksoniq.spark;
+
+import org.apache.spark.SparkContext;
+import org.apache.spark.api.java.JavaRDD;
+import org.rumbledb.exceptions.OurBadException;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Iterates over the items of an RDD on the driver without collecting it first.
+ *
+ * A background thread collects the partitions in batches, starting with a single partition so that the first items
+ * are available quickly, and doubling the batch size up to the default parallelism so that large results are still
+ * computed in parallel. Collected partitions wait in a bounded queue, so that the driver holds at most the queue and
+ * one batch at any time.
+ */
+public class StreamingRDDIterator<T> implements Iterator<T> {
+
+    private final BlockingQueue<List<T>> queue;
+    private final String jobGroup;
+    private final Thread fetcher;
+    private volatile boolean closed;
+    private volatile Throwable failure;
+    private List<T> currentPartition;
+    private int currentIndex;
+    private boolean finished;
+
+    public StreamingRDDIterator(JavaRDD<T> rdd) {
+        SparkContext sparkContext = rdd.context();
+        int parallelism = Math.max(1, sparkContext.defaultParallelism());
+        this.queue = new ArrayBlockingQueue<>(parallelism);
+        this.jobGroup = "rumble-stream-" + UUID.randomUUID();
+        this.currentPartition = Collections.emptyList();
+        this.currentIndex = 0;
+        this.finished = false;
+        this.fetcher = new Thread(() -> fetch(rdd, parallelism), this.jobGroup);
+        this.fetcher.setDaemon(true);
+        this.fetcher.start();
+    }
+
+    private void fetch(JavaRDD<T> rdd, int parallelism) {
+        rdd.context().setJobGroup(this.jobGroup, "Streaming query results to the driver", false);
+        try {
+            int numberOfPartitions = rdd.getNumPartitions();
+            int batchSize = 1;
+            int nextPartition = 0;
+            while (!this.closed && nextPartition < numberOfPartitions) {
+                int[] partitionIds = new int[Math.min(batchSize, numberOfPartitions - nextPartition)];
+                for (int i = 0; i < partitionIds.length; ++i) {
+                    partitionIds[i] = nextPartition++;
+                }
+                for (List<T> partition : rdd.collectPartitions(partitionIds)) {
+                    // empty lists mark the end of the stream, so empty partitions are not queued.
+                    if (!partition.isEmpty()) {
+                        this.queue.put(partition);
+                    }
+                }
+                batchSize = Math.min(2 * batchSize, parallelism);
+            }
+        } catch (Throwable t) {
+            if (this.closed) {
+                return;
+            }
+            this.failure = t;
+        }
+        try {
+            this.queue.put(Collections.emptyList());
+        } catch (InterruptedException e) {
+            // the consumer closed the iterator and will not read the end marker.
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (this.currentIndex >= this.currentPartition.size()) {
+            if (this.finished) {
+                return false;
+            }
+            try {
+                this.currentPartition = this.queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new OurBadException("Interrupted while waiting for query results.");
+            }
+            this.currentIndex = 0;
+            if (this.currentPartition.isEmpty()) {
+                this.finished = true;
+                if (this.failure != null) {
+                    StreamingRDDIterator.<RuntimeException>rethrow(this.failure);
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.currentPartition.get(this.currentIndex++);
+    }
+
+    /**
+     * Stops fetching partitions and cancels the Spark jobs still running for this iterator.
+     */
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.finished = true;
+        this.currentPartition = Collections.emptyList();
+        this.fetcher.interrupt();
+        SparkSessionManager.getInstance().getJavaSparkContext().cancelJobGroup(this.jobGroup);
+        this.queue.clear();
+    }
+
+    // Spark exceptions are checked exceptions that Scala throws undeclared; they are passed on unchanged so that
+    // callers can unwrap them as they do for collect().
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> void rethrow(Throwable t) throws E {
+        throw (E) t;
+    }
+}
@@ -107,6 +107,33 @@ public class JavaAPITest {
         Assert.assertTrue(!iterator.isOpen());
     }
 
+    @Test(timeout = 1000000)
+    public void testStream() throws Throwable {
+        RumbleRuntimeConfiguration configuration = new RumbleRuntimeConfiguration();
+        configuration.setResultSizeCap(0);
+        Rumble rumble = new Rumble(configuration);
+        SequenceOfItems iterator = rumble.runQuery("for $i in parallelize(1 to 10000, 20) return $i");
+        Assert.assertTrue(iterator.availableAsRDD());
+        iterator.open();
+        int count = 0;
+        while (iterator.hasNext()) {
+            Item item = iterator.next();
+            ++count;
+            Assert.assertTrue(item.getIntValue() == count);
+        }
+        Assert.assertTrue(count == 10000);
+        iterator.close();
+
+        iterator = rumble.runQuery("for $i in parallelize(1 to 10000, 20) return $i");
+        iterator.open();
+        for (int i = 1; i <= 3; ++i) {
+            Assert.assertTrue(iterator.hasNext());
+            Assert.assertTrue(iterator.next().getIntValue() == i);
+        }
+        iterator.close();
+        Assert.assertTrue(!iterator.isOpen());
+    }
+
     @Test(timeout = 1000000)
     public void testRDD() throws Throwable {
         Rumble rumble = new Rumble(RumbleRuntimeConfiguration.getDefaultConfiguration());